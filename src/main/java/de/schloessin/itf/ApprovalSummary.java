@@ -0,0 +1,85 @@
+package de.schloessin.itf;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * An {@link ApprovalSummary} lists the changes made to an expected result
+ * when {@link IntegrationTest} approved a processed result.
+ *
+ * <p> Added and updated entries are reported with their new location in
+ * the expected result. A directory added or removed as a whole is reported
+ * as a single entry.
+ *
+ * <p> created 2026-10-19
+ * @see IntegrationTest#approve(java.net.URL, java.net.URL)
+ */
+public final class ApprovalSummary {
+
+  private final List<Path> added = new ArrayList<>();
+  private final List<Path> updated = new ArrayList<>();
+  private final List<Path> removed = new ArrayList<>();
+  private int unchanged = 0;
+
+  ApprovalSummary() {
+  }
+
+  void addAdded(Path path) {
+    added.add(path);
+  }
+
+  void addUpdated(Path path) {
+    updated.add(path);
+  }
+
+  void addRemoved(Path path) {
+    removed.add(path);
+  }
+
+  void addUnchanged() {
+    unchanged ++;
+  }
+
+  public List<Path> getAdded() {
+    return Collections.unmodifiableList(added);
+  }
+
+  public List<Path> getUpdated() {
+    return Collections.unmodifiableList(updated);
+  }
+
+  public List<Path> getRemoved() {
+    return Collections.unmodifiableList(removed);
+  }
+
+  /**
+   * @return  the number of files which have been equal already
+   */
+  public int getUnchanged() {
+    return unchanged;
+  }
+
+  /**
+   * @return  {@code true} if the expected result has been changed
+   */
+  public boolean hasChanges() {
+    return ! (added.isEmpty() && updated.isEmpty() && removed.isEmpty());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder summary = new StringBuilder();
+    summary.append(added.size()).append(" added, ")
+            .append(updated.size()).append(" updated, ")
+            .append(removed.size()).append(" removed, ")
+            .append(unchanged).append(" unchanged");
+    for (Path path : added)
+      summary.append(System.lineSeparator()).append("A ").append(path);
+    for (Path path : updated)
+      summary.append(System.lineSeparator()).append("M ").append(path);
+    for (Path path : removed)
+      summary.append(System.lineSeparator()).append("D ").append(path);
+    return summary.toString();
+  }
+
+}
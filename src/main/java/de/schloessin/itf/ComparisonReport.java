@@ -0,0 +1,249 @@
+package de.schloessin.itf;
+
+import java.nio.file.Path;
+import java.util.*;
+import org.opentest4j.MultipleFailuresError;
+
+/**
+ * A {@link ComparisonReport} collects the differences found by
+ * {@link IntegrationTest} while comparing a processed result with the
+ * expected result.
+ *
+ * <p> How many differences are collected depends on the
+ * {@link FailurePolicy} in use. A report is successful if all files have
+ * been compared and no difference was found.
+ *
+ * <p> created 2026-10-19
+ * @see IntegrationTest#check(java.net.URL, java.net.URL)
+ * @see FailurePolicy
+ */
+public final class ComparisonReport {
+
+  /**
+   * A single difference between a file of the expected result and
+   * a file of the processed result.
+   */
+  public static final class Failure {
+    private final Path expectedFile;
+    private final Path processedFile;
+    private final Throwable cause;
+    private final List<Path> expectedArchives;
+    private final List<Path> processedArchives;
+
+    Failure(Path expectedFile, Path processedFile, Throwable cause, List<Path> expectedArchives, List<Path> processedArchives) {
+      this.expectedFile = expectedFile;
+      this.processedFile = processedFile;
+      this.cause = cause;
+      this.expectedArchives = expectedArchives;
+      this.processedArchives = processedArchives;
+    }
+
+    public Path getExpectedFile() {
+      return expectedFile;
+    }
+
+    public Path getProcessedFile() {
+      return processedFile;
+    }
+
+    /**
+     * @return  the archives of the expected result containing the expected
+     *          file, outermost first, empty if the file is not inside
+     *          an archive
+     */
+    public List<Path> getExpectedArchives() {
+      return expectedArchives;
+    }
+
+    /**
+     * @return  the archives of the processed result containing the processed
+     *          file, outermost first, empty if the file is not inside
+     *          an archive
+     */
+    public List<Path> getProcessedArchives() {
+      return processedArchives;
+    }
+
+    /**
+     * @return  {@code true} if the files are inside archives compared
+     *          as directories
+     */
+    public boolean isInsideArchive() {
+      return ! expectedArchives.isEmpty();
+    }
+
+    /**
+     * @return  the exception thrown by the {@link FileComparator} or
+     *          describing the mismatch of the two directory trees
+     */
+    public Throwable getCause() {
+      return cause;
+    }
+
+    @Override
+    public String toString() {
+      return location(expectedArchives, expectedFile) + " <> " + location(processedArchives, processedFile)
+              + ": " + cause.getMessage();
+    }
+
+    private static String location(List<Path> archives, Path file) {
+      StringBuilder location = new StringBuilder();
+      for (Path archive : archives)
+        location.append(archive).append('!');
+      return location.append(file).toString();
+    }
+  }
+
+  private final FailurePolicy policy;
+  private final long deadline;
+  private final List<Failure> failures = new ArrayList<>();
+  private final List<String> warnings = new ArrayList<>();
+  private final Deque<Path> expectedArchives = new ArrayDeque<>();
+  private final Deque<Path> processedArchives = new ArrayDeque<>();
+  private int numberOfComparedFiles = 0;
+  private boolean stoppedByTimeBudget = false;
+
+  ComparisonReport(FailurePolicy policy) {
+    this.policy = policy;
+    this.deadline = policy.getTimeBudget() == null
+            ? Long.MAX_VALUE
+            : System.nanoTime() + policy.getTimeBudget().toNanos();
+  }
+
+  void addFailure(Path expectedFile, Path processedFile, Throwable cause) {
+    failures.add(new Failure(expectedFile, processedFile, cause,
+            Collections.unmodifiableList(new ArrayList<>(expectedArchives)),
+            Collections.unmodifiableList(new ArrayList<>(processedArchives))));
+  }
+
+  /**
+   * Marks the following failures as found inside the given archives
+   * until {@link #leaveArchives()} is called.
+   */
+  void enterArchives(Path expectedArchive, Path processedArchive) {
+    expectedArchives.addLast(expectedArchive);
+    processedArchives.addLast(processedArchive);
+  }
+
+  void leaveArchives() {
+    expectedArchives.removeLast();
+    processedArchives.removeLast();
+  }
+
+  void addWarning(String warning) {
+    warnings.add(warning);
+  }
+
+  void addComparedFile() {
+    numberOfComparedFiles ++;
+  }
+
+  /**
+   * Tells whether the comparison has to go on according to the policy.
+   * Has to be asked before each file is compared, but not after the last
+   * one, since an exceeded time budget marks the report as stopped.
+   */
+  boolean isToBeContinued() {
+    if (isStopped())
+      return false;
+    if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0)
+      stoppedByTimeBudget = true;
+    return ! stoppedByTimeBudget;
+  }
+
+  /**
+   * Tells whether the comparison has already been stopped by the policy,
+   * without checking the time budget again.
+   */
+  boolean isStopped() {
+    return failures.size() >= policy.getMaxFailures() || stoppedByTimeBudget;
+  }
+
+  public FailurePolicy getPolicy() {
+    return policy;
+  }
+
+  public List<Failure> getFailures() {
+    return Collections.unmodifiableList(failures);
+  }
+
+  /**
+   * @return  remarks not failing the test, e.g. performance regressions
+   *          found by a warning {@link RegressionCheck}
+   */
+  public List<String> getWarnings() {
+    return Collections.unmodifiableList(warnings);
+  }
+
+  public int getNumberOfComparedFiles() {
+    return numberOfComparedFiles;
+  }
+
+  /**
+   * @return  {@code true} if the comparison was stopped before all files
+   *          have been compared because the time budget was exceeded
+   */
+  public boolean isStoppedByTimeBudget() {
+    return stoppedByTimeBudget;
+  }
+
+  /**
+   * @return  {@code true} if no difference was found and the comparison
+   *          was not stopped by the time budget
+   */
+  public boolean isSuccessful() {
+    return failures.isEmpty() && ! stoppedByTimeBudget;
+  }
+
+  /**
+   * Throws an exception if this report is not successful.
+   *
+   * <p> A single difference is rethrown as is, unless it was found inside
+   * an archive, so a test using the
+   * {@link FailurePolicy#failFast() fail fast policy} fails the same way
+   * as with a plain {@link FileComparator}. Multiple differences are
+   * combined into a {@link MultipleFailuresError}.
+   *
+   * @throws  AssertionError
+   *          if the comparison found differences or was stopped by the
+   *          time budget
+   */
+  public void assertSuccessful() throws AssertionError {
+    if (isSuccessful())
+      return;
+
+    if (failures.size() == 1 && ! stoppedByTimeBudget) {
+      Throwable cause = causeOf(failures.get(0));
+      if (cause instanceof AssertionError)
+        throw (AssertionError) cause;
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+    }
+
+    if (failures.isEmpty())
+      throw new AssertionError(toString());
+
+    List<Throwable> causes = new ArrayList<>();
+    for (Failure failure : failures)
+      causes.add(causeOf(failure));
+    throw new MultipleFailuresError(toString(), causes);
+  }
+
+  /**
+   * A failure inside an archive is wrapped to name the archive, because
+   * the paths inside an archive don't tell which archive differs.
+   */
+  private static Throwable causeOf(Failure failure) {
+    return failure.isInsideArchive()
+            ? new AssertionError(failure.toString(), failure.getCause())
+            : failure.getCause();
+  }
+
+  @Override
+  public String toString() {
+    return failures.size() + " difference(s) found in " + numberOfComparedFiles + " compared file(s)"
+            + (stoppedByTimeBudget ? ", comparison stopped after " + policy.getTimeBudget() : "")
+            + (warnings.isEmpty() ? "" : ", warnings: " + String.join("; ", warnings));
+  }
+
+}
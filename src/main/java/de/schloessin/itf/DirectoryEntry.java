@@ -0,0 +1,151 @@
+package de.schloessin.itf;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * A {@link DirectoryEntry} is a file or directory listed by
+ * {@link #listSorted(Path)} together with the attributes read while
+ * listing, so they don't have to be read again when the entry is compared.
+ *
+ * <p> created 2026-10-19
+ * @see IntegrationTest
+ */
+final class DirectoryEntry implements Comparable<DirectoryEntry> {
+
+  /**
+   * Receives the pairs of entries found by
+   * {@link DirectoryEntry#mergeSorted(Path, Path, PairVisitor)}.
+   * The attributes of an entry missing on one side are {@code null}.
+   */
+  interface PairVisitor {
+
+    /**
+     * @return  {@code true} if the remaining pairs are to be visited
+     */
+    boolean visit(
+            Path expected, BasicFileAttributes expectedAttributes,
+            Path actual, BasicFileAttributes actualAttributes) throws IOException;
+  }
+
+  private final String name;
+  private final Path path;
+  private final BasicFileAttributes attributes;
+
+  private DirectoryEntry(Path path, BasicFileAttributes attributes) {
+    this.name = path.getFileName().toString();
+    this.path = path;
+    this.attributes = attributes;
+  }
+
+  /**
+   * Lists the direct children of a directory sorted by name.
+   * Symbolic links are followed like {@link Files#isDirectory(Path, LinkOption...)}
+   * does.
+   *
+   * @param   directory
+   *          the directory to list
+   *
+   * @return  the children of the directory sorted by name
+   *
+   * @throws  IOException
+   *          if the directory can't be read
+   */
+  static List<DirectoryEntry> listSorted(Path directory) throws IOException {
+    List<DirectoryEntry> entries = new ArrayList<>();
+    Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        entries.add(new DirectoryEntry(file, attrs));
+        return FileVisitResult.CONTINUE;
+      }
+
+    });
+    Collections.sort(entries);
+    return entries;
+  }
+
+  /**
+   * Lists two directories once each, sorted by name, and walks both
+   * listings side by side. Each name found in either directory is passed
+   * to the visitor exactly once, paired with the entry of the same name
+   * in the other directory if there is one.
+   *
+   * @param   expectedDirectory
+   *          the directory of the expected result
+   *
+   * @param   actualDirectory
+   *          the directory of the processed result
+   *
+   * @param   visitor
+   *          receives the pairs of entries until it returns {@code false}
+   *
+   * @throws  IOException
+   *          if a directory can't be read or the visitor fails
+   */
+  static void mergeSorted(Path expectedDirectory, Path actualDirectory, PairVisitor visitor) throws IOException {
+    List<DirectoryEntry> expectedEntries = listSorted(expectedDirectory);
+    List<DirectoryEntry> actualEntries = listSorted(actualDirectory);
+
+    int e = 0;
+    int a = 0;
+    boolean toBeContinued = true;
+    while ((e < expectedEntries.size() || a < actualEntries.size()) && toBeContinued) {
+      DirectoryEntry expected = e < expectedEntries.size() ? expectedEntries.get(e) : null;
+      DirectoryEntry actual = a < actualEntries.size() ? actualEntries.get(a) : null;
+      int order = expected == null ? 1 : actual == null ? -1 : expected.compareTo(actual);
+
+      if (order < 0) {
+        toBeContinued = visitor.visit(
+                expected.path, expected.attributes,
+                actualDirectory.resolve(expected.name), null);
+        e ++;
+      } else if (order > 0) {
+        toBeContinued = visitor.visit(
+                expectedDirectory.resolve(actual.name), null,
+                actual.path, actual.attributes);
+        a ++;
+      } else {
+        toBeContinued = visitor.visit(
+                expected.path, expected.attributes,
+                actual.path, actual.attributes);
+        e ++;
+        a ++;
+      }
+    }
+  }
+
+  /**
+   * Reads the attributes of a single path.
+   *
+   * @return  the attributes or {@code null} if the path doesn't exist
+   */
+  static BasicFileAttributes readAttributes(Path path) throws IOException {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (NoSuchFileException ex) {
+      return null;
+    }
+  }
+
+  String getName() {
+    return name;
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  BasicFileAttributes getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public int compareTo(DirectoryEntry other) {
+    return name.compareTo(other.name);
+  }
+
+}
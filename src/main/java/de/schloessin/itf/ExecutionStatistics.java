@@ -0,0 +1,55 @@
+package de.schloessin.itf;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The resources used by a single run of a {@link GovernedProcessor}.
+ *
+ * <p> created 2026-10-19
+ * @see GovernedProcessor#getLastExecution()
+ */
+public final class ExecutionStatistics {
+
+  private final Path source;
+  private final Path result;
+  private final Duration processingTime;
+  private final long peakOutputSize;
+
+  ExecutionStatistics(Path source, Path result, Duration processingTime, long peakOutputSize) {
+    this.source = source;
+    this.result = result;
+    this.processingTime = processingTime;
+    this.peakOutputSize = peakOutputSize;
+  }
+
+  public Path getSource() {
+    return source;
+  }
+
+  /**
+   * @return  the processed result or {@code null} if the processor
+   *          didn't finish
+   */
+  public Path getResult() {
+    return result;
+  }
+
+  public Duration getProcessingTime() {
+    return processingTime;
+  }
+
+  /**
+   * @return  the largest size in bytes the output has been seen with,
+   *          either while watching the disk quota or after processing
+   */
+  public long getPeakOutputSize() {
+    return peakOutputSize;
+  }
+
+  @Override
+  public String toString() {
+    return source + ": " + processingTime + ", peak output size " + peakOutputSize + " bytes";
+  }
+
+}
@@ -0,0 +1,103 @@
+package de.schloessin.itf;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A {@link FailurePolicy} decides how long {@link IntegrationTest} keeps on
+ * comparing the processed result with the expected result after the first
+ * difference was found.
+ *
+ * <p> As soon as the policy is satisfied, the remaining files and directories
+ * are not compared anymore. All differences found so far are collected in
+ * a {@link ComparisonReport}.
+ *
+ * <p> The time budget is checked before each file is compared. A single
+ * comparison of a {@link FileComparator} is never interrupted.
+ *
+ * <p> created 2026-10-19
+ * @see IntegrationTest#withFailurePolicy(FailurePolicy)
+ * @see ComparisonReport
+ */
+public final class FailurePolicy {
+
+  private static final FailurePolicy FAIL_FAST = new FailurePolicy(1, null);
+  private static final FailurePolicy COLLECT_ALL = new FailurePolicy(Integer.MAX_VALUE, null);
+
+  private final int maxFailures;
+  private final Duration timeBudget;
+
+  private FailurePolicy(int maxFailures, Duration timeBudget) {
+    this.maxFailures = maxFailures;
+    this.timeBudget = timeBudget;
+  }
+
+  /**
+   * Returns the policy stopping the comparison at the first difference.
+   * This is the default policy of {@link IntegrationTest}.
+   *
+   * @return  the fail fast policy
+   */
+  public static FailurePolicy failFast() {
+    return FAIL_FAST;
+  }
+
+  /**
+   * Returns the policy comparing all files regardless of the number of
+   * differences found.
+   *
+   * @return  the collect all policy
+   */
+  public static FailurePolicy collectAll() {
+    return COLLECT_ALL;
+  }
+
+  /**
+   * Returns a policy stopping the comparison after the given number
+   * of differences.
+   *
+   * @param   maxFailures
+   *          the number of differences to collect, at least one
+   *
+   * @return  a policy collecting up to {@code maxFailures} differences
+   */
+  public static FailurePolicy collectUpTo(int maxFailures) {
+    if (maxFailures < 1)
+      throw new IllegalArgumentException("maxFailures must be positive: " + maxFailures);
+    return new FailurePolicy(maxFailures, null);
+  }
+
+  /**
+   * Returns a copy of this policy which additionally stops the comparison
+   * once the given time has elapsed.
+   *
+   * @param   timeBudget
+   *          the time the comparison of a single test may take
+   *
+   * @return  a policy with a time budget
+   */
+  public FailurePolicy withTimeBudget(Duration timeBudget) {
+    Objects.requireNonNull(timeBudget, "timeBudget must not be null");
+    if (timeBudget.isNegative())
+      throw new IllegalArgumentException("timeBudget must not be negative: " + timeBudget);
+    return new FailurePolicy(maxFailures, timeBudget);
+  }
+
+  public int getMaxFailures() {
+    return maxFailures;
+  }
+
+  /**
+   * @return  the time budget or {@code null} if the comparison is not limited
+   *          in time
+   */
+  public Duration getTimeBudget() {
+    return timeBudget;
+  }
+
+  @Override
+  public String toString() {
+    return "FailurePolicy{maxFailures=" + maxFailures + ", timeBudget=" + timeBudget + '}';
+  }
+
+}
@@ -1,7 +1,7 @@
 package de.schloessin.itf;
 
-import java.io.IOException;
-import java.nio.file.Path;
+import java.io.*;
+import java.nio.file.*;
 
 /**
  * A {@link FileComparator} tests two regular files for equality.
@@ -60,4 +60,56 @@ public interface FileComparator {
   public abstract void assertEquals(
           Path expectedFile,
           Path processedFile) throws IOException, AssertionError;
+
+  /**
+   * Test for the equality of the content of two files given as stream.
+   *
+   * <p> This method will be invoked by {@link IntegrationTest} instead of
+   * {@link #assertEquals(Path, Path)} if the content of the files has to be
+   * transformed before comparison, e.g. two gzip compressed files are
+   * decompressed on the fly.
+   *
+   * <p> The default implementation copies both streams into a
+   * {@link VirtualFileSystem} held in memory and delegates to
+   * {@link #assertEquals(Path, Path)}. Implementations able to compare
+   * streams directly should override this method.
+   *
+   * @param   expectedFile
+   *          the file of the expected result set the content is read from
+   *
+   * @param   expectedContent
+   *          the transformed content of the expected file
+   *
+   * @param   processedFile
+   *          the file of the processed result set the content is read from
+   *
+   * @param   processedContent
+   *          the transformed content of the processed file
+   *
+   * @throws  AssertionError
+   *          if the contents are unequal according to the definition
+   *          of equal for the data
+   *
+   * @throws  IOException
+   *          if there is a problem reading the data
+   */
+  public default void assertEquals(
+          Path expectedFile,
+          InputStream expectedContent,
+          Path processedFile,
+          InputStream processedContent) throws IOException, AssertionError {
+    try (VirtualFileSystem fs = new VirtualFileSystem()) {
+      Path expectedCopy = fs.createNewDirectory("/expected").resolve(contentFileName(expectedFile));
+      Path processedCopy = fs.createNewDirectory("/processed").resolve(contentFileName(processedFile));
+      Files.copy(expectedContent, expectedCopy);
+      Files.copy(processedContent, processedCopy);
+      assertEquals(expectedCopy, processedCopy);
+    }
+  }
+
+  private static String contentFileName(Path file) {
+    String name = file.getFileName().toString();
+    int extension = name.lastIndexOf('.');
+    return extension > 0 ? name.substring(0, extension) : name;
+  }
 }
@@ -0,0 +1,71 @@
+package de.schloessin.itf;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The sum of the sizes and the number of the regular files in a file tree.
+ *
+ * <p> The tree may be changed while it is measured, e.g. by a running
+ * {@link Processor}. Files vanishing in the meantime are skipped.
+ *
+ * <p> created 2026-10-19
+ * @see RunHistory
+ * @see GovernedProcessor
+ */
+final class FileTreeSize {
+
+  private long size = 0;
+  private long fileCount = 0;
+
+  private FileTreeSize() {
+  }
+
+  /**
+   * Measures a file or directory tree.
+   *
+   * @param   path
+   *          the root of the tree, may not exist
+   *
+   * @return  the size of the tree, zero if it doesn't exist
+   *
+   * @throws  IOException
+   *          if the tree can't be read
+   */
+  static FileTreeSize of(Path path) throws IOException {
+    FileTreeSize treeSize = new FileTreeSize();
+    if (Files.notExists(path))
+      return treeSize;
+
+    Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (attrs.isRegularFile()) {
+          treeSize.size += attrs.size();
+          treeSize.fileCount ++;
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+        if (e instanceof NoSuchFileException)
+          return FileVisitResult.CONTINUE;
+        throw e;
+      }
+
+    });
+    return treeSize;
+  }
+
+  long getSize() {
+    return size;
+  }
+
+  long getFileCount() {
+    return fileCount;
+  }
+
+}
@@ -0,0 +1,126 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A {@link ForkedProcessor} runs another {@link Processor} in a separate
+ * local JVM.
+ *
+ * <p> The wrapped processor is given by its class, which needs a public
+ * constructor without arguments. The forked JVM uses the class path of the
+ * current JVM. Its heap can be limited by {@link #withMaxHeap(String)}.
+ * The processed result has to be stored in the default file system.
+ * A processor returning {@code null} fails with an
+ * {@link IllegalStateException}.
+ *
+ * <p> If the thread waiting for the forked JVM is interrupted, e.g. by a
+ * {@link GovernedProcessor} exceeding a limit, the forked JVM is destroyed.
+ *
+ * <p> created 2026-10-19
+ * @see GovernedProcessor
+ */
+public class ForkedProcessor implements Processor {
+
+  private static final String RESULT_PREFIX = ForkedProcessor.class.getName() + " result: ";
+
+  private final String processorClassName;
+  private final List<String> jvmOptions = new ArrayList<>();
+
+  public ForkedProcessor(Class<? extends Processor> processorClass) {
+    this.processorClassName = processorClass.getName();
+  }
+
+  /**
+   * @param   maxHeap
+   *          the maximum heap size of the forked JVM, e.g. {@code "512m"}
+   *
+   * @return  this {@code ForkedProcessor}
+   */
+  public ForkedProcessor withMaxHeap(String maxHeap) {
+    return withJvmOption("-Xmx" + maxHeap);
+  }
+
+  /**
+   * @param   option
+   *          an option passed to the forked JVM, e.g. {@code "-Dkey=value"}
+   *
+   * @return  this {@code ForkedProcessor}
+   */
+  public ForkedProcessor withJvmOption(String option) {
+    jvmOptions.add(Objects.requireNonNull(option, "option must not be null"));
+    return this;
+  }
+
+  @Override
+  public Path process(Path source) {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmOptions);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(ForkedProcessor.class.getName());
+    command.add(processorClassName);
+    command.add(source.toAbsolutePath().toString());
+
+    Process process;
+    try {
+      process = new ProcessBuilder(command)
+              .redirectError(ProcessBuilder.Redirect.INHERIT)
+              .start();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    String[] result = new String[1];
+    Thread outputReader = new Thread(() -> {
+      try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+        String line;
+        while ((line = output.readLine()) != null)
+          if (line.startsWith(RESULT_PREFIX))
+            result[0] = line.substring(RESULT_PREFIX.length());
+          else
+            System.out.println(line);
+      } catch (IOException ex) {
+        // the forked JVM has been destroyed
+      }
+    }, "ForkedProcessor output " + source);
+    outputReader.setDaemon(true);
+    outputReader.start();
+
+    try {
+      int exitCode = process.waitFor();
+      outputReader.join();
+      if (exitCode != 0)
+        throw new IllegalStateException("forked " + processorClassName + " failed with exit code " + exitCode + " processing " + source);
+      if (result[0] == null || result[0].isEmpty())
+        throw new IllegalStateException("forked " + processorClassName + " returned no result processing " + source);
+      return Paths.get(result[0]);
+    } catch (InterruptedException ex) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+      throw new CancellationException("forked " + processorClassName + " cancelled processing " + source);
+    }
+  }
+
+  /**
+   * Entry point of the forked JVM.
+   *
+   * @param   args
+   *          the class name of the processor and the source path
+   *
+   * @throws  Exception
+   *          if the processor can't be created or fails
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length != 2)
+      throw new IllegalArgumentException("usage: ForkedProcessor <processor class> <source>");
+    Processor processor = (Processor) Class.forName(args[0]).getDeclaredConstructor().newInstance();
+    Path result = processor.process(Paths.get(args[1]));
+    System.out.println(RESULT_PREFIX + (result == null ? "" : result.toAbsolutePath()));
+  }
+
+}
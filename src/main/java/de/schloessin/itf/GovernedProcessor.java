@@ -0,0 +1,197 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * A {@link GovernedProcessor} runs another {@link Processor} with limited
+ * resources.
+ *
+ * <p> The wrapped processor runs in a separate thread while the calling
+ * thread watches the wall clock time and, if a disk quota is set, the size
+ * of the output location. If a limit is exceeded, the processor is
+ * cancelled by interrupting its thread and a
+ * {@link ProcessorLimitExceededException} is thrown. The disk quota is
+ * checked once more when the processor has finished, so a run exceeding it
+ * between two measurements fails as well. Cancellation is
+ * cooperative: a processor ignoring the interrupt keeps on running in the
+ * background. Use a {@link ForkedProcessor} as wrapped processor if it has
+ * to be stopped for sure or its heap has to be limited.
+ *
+ * <p> The resources used by each run are reported as
+ * {@link ExecutionStatistics}.
+ *
+ * <p> created 2026-10-19
+ * @see ForkedProcessor
+ * @see IntegrationTest
+ */
+public class GovernedProcessor implements Processor {
+
+  private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(100);
+
+  private final Processor processor;
+  private Duration timeout = null;
+  private Path outputLocation = null;
+  private long diskQuota = Long.MAX_VALUE;
+  private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+  private Consumer<ExecutionStatistics> executionListener = statistics -> {};
+  private volatile ExecutionStatistics lastExecution = null;
+
+  public GovernedProcessor(Processor processor) {
+    this.processor = Objects.requireNonNull(processor, "processor must not be null");
+  }
+
+  /**
+   * @param   timeout
+   *          the wall clock time a single run may take
+   *
+   * @return  this {@code GovernedProcessor}
+   */
+  public GovernedProcessor withTimeout(Duration timeout) {
+    this.timeout = Objects.requireNonNull(timeout, "timeout must not be null");
+    return this;
+  }
+
+  /**
+   * Limits the size of the output of the processor. As the result location
+   * is known only after processing, the location the processor writes to
+   * has to be given.
+   *
+   * @param   outputLocation
+   *          the file or directory the processor writes its output to
+   *
+   * @param   maxBytes
+   *          the size the output location may reach
+   *
+   * @return  this {@code GovernedProcessor}
+   */
+  public GovernedProcessor withDiskQuota(Path outputLocation, long maxBytes) {
+    this.outputLocation = Objects.requireNonNull(outputLocation, "outputLocation must not be null");
+    this.diskQuota = maxBytes;
+    return this;
+  }
+
+  /**
+   * @param   pollInterval
+   *          the time between two measurements of the output location,
+   *          100 ms by default
+   *
+   * @return  this {@code GovernedProcessor}
+   */
+  public GovernedProcessor withPollInterval(Duration pollInterval) {
+    if (pollInterval.isNegative() || pollInterval.isZero())
+      throw new IllegalArgumentException("pollInterval must be positive: " + pollInterval);
+    this.pollInterval = pollInterval;
+    return this;
+  }
+
+  /**
+   * @param   executionListener
+   *          receives the statistics of every run, including cancelled and failed ones,
+   *          in the thread which called {@link #process(Path)}
+   *
+   * @return  this {@code GovernedProcessor}
+   */
+  public GovernedProcessor onExecution(Consumer<ExecutionStatistics> executionListener) {
+    this.executionListener = Objects.requireNonNull(executionListener, "executionListener must not be null");
+    return this;
+  }
+
+  /**
+   * @return  the statistics of the last run or {@code null} if there was none.
+   *          If runs are executed in parallel use
+   *          {@link #onExecution(Consumer)} instead.
+   */
+  public ExecutionStatistics getLastExecution() {
+    return lastExecution;
+  }
+
+  public Processor getProcessor() {
+    return processor;
+  }
+
+  @Override
+  public Path process(Path source) {
+    ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "GovernedProcessor " + source);
+      thread.setDaemon(true);
+      return thread;
+    });
+    long start = System.nanoTime();
+    long deadline = timeout == null ? Long.MAX_VALUE : start + timeout.toNanos();
+    long peakOutputSize = 0;
+    try {
+      Future<Path> result = executor.submit(() -> processor.process(source));
+      while (true) {
+        long wait = outputLocation == null ? Long.MAX_VALUE : pollInterval.toNanos();
+        if (deadline != Long.MAX_VALUE)
+          wait = Math.min(wait, Math.max(0, deadline - System.nanoTime()));
+        try {
+          Path processedResult = result.get(wait, TimeUnit.NANOSECONDS);
+          if (outputLocation != null)
+            peakOutputSize = Math.max(peakOutputSize, outputSize(outputLocation));
+          if (processedResult != null)
+            peakOutputSize = Math.max(peakOutputSize, outputSize(processedResult));
+          ExecutionStatistics statistics = new ExecutionStatistics(source, processedResult, elapsedSince(start), peakOutputSize);
+          finished(statistics);
+          if (peakOutputSize > diskQuota)
+            throw new ProcessorLimitExceededException(
+                    "processing of " + source + " exceeded disk quota of " + diskQuota + " bytes in " + outputLocation,
+                    statistics);
+          return processedResult;
+        } catch (TimeoutException ex) {
+          if (outputLocation != null)
+            peakOutputSize = Math.max(peakOutputSize, outputSize(outputLocation));
+          if (peakOutputSize > diskQuota)
+            throw cancel(result, "exceeded disk quota of " + diskQuota + " bytes in " + outputLocation,
+                    new ExecutionStatistics(source, null, elapsedSince(start), peakOutputSize));
+          if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0)
+            throw cancel(result, "exceeded timeout of " + timeout,
+                    new ExecutionStatistics(source, null, elapsedSince(start), peakOutputSize));
+        }
+      }
+    } catch (ExecutionException ex) {
+      if (outputLocation != null)
+        peakOutputSize = Math.max(peakOutputSize, outputSize(outputLocation));
+      finished(new ExecutionStatistics(source, null, elapsedSince(start), peakOutputSize));
+      if (ex.getCause() instanceof RuntimeException)
+        throw (RuntimeException) ex.getCause();
+      if (ex.getCause() instanceof Error)
+        throw (Error) ex.getCause();
+      throw new IllegalStateException(ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("interrupted while processing " + source);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ProcessorLimitExceededException cancel(Future<Path> result, String reason, ExecutionStatistics statistics) {
+    result.cancel(true);
+    finished(statistics);
+    return new ProcessorLimitExceededException("processing of " + statistics.getSource() + " " + reason, statistics);
+  }
+
+  private void finished(ExecutionStatistics statistics) {
+    lastExecution = statistics;
+    executionListener.accept(statistics);
+  }
+
+  private static long outputSize(Path path) {
+    try {
+      return FileTreeSize.of(path).getSize();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static Duration elapsedSince(long start) {
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+}
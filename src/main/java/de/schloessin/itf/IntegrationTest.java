@@ -4,7 +4,9 @@ import java.io.*;
 import java.net.*;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.*;
 import java.util.*;
+import java.util.zip.*;
 
 /**
  * A {@code IntegrationTest} supports testing of components
@@ -16,6 +18,8 @@ import java.util.*;
  *
  * <p> Both steps can be customized via implementation of the
  * interfaces {@link Processor} and  {@link FileComparator}.
+ * A {@link GovernedProcessor} limits the time and disk space
+ * a {@link Processor} may use.
  *
  * <p> Once a {@code IntegrationTest} is instantiated with its implementation
  * according to the component under test, it can be used on multiple
@@ -33,13 +37,21 @@ import java.util.*;
  * of walking a file tree of result data and its deletion after the test
  * was successful.
  *
+ * <p> Optionally zip and jar archives can be compared like directories
+ * and gzip compressed files can be decompressed on the fly before they are
+ * passed to the {@link FileComparator}. See
+ * {@link #compareArchivesAsDirectories()}.
+ *
  * <p> A test is considered successful if no exception was thrown by all
- * steps of the test.
+ * steps of the test. By default the first difference found stops the test.
+ * A {@link FailurePolicy} allows to collect more differences in a
+ * {@link ComparisonReport}, see {@link #check(URL, URL)}.
  *
  * <p> created 2012-08-28
  * @author Jan Schlößin
  * @see FileComparator
  * @see Processor
+ * @see FailurePolicy
  */
 public class IntegrationTest {
   private final Processor processor;
@@ -48,6 +60,15 @@ public class IntegrationTest {
 
   private final FileComparator fileComparator;
 
+  private boolean archivesAsDirectories = false;
+  private FailurePolicy failurePolicy = FailurePolicy.failFast();
+  private RunHistory runHistory = null;
+  private boolean recordUnsuccessfulRuns = false;
+  private RegressionCheck regressionCheck = null;
+  private boolean updateExpectedResults = false;
+  private Path resourceRoot = null;
+  private Path sourceRoot = null;
+
   public IntegrationTest(Processor processor, FileComparator fileComparator) {
     this.processor = processor;
     this.processor2 = null;
@@ -69,6 +90,144 @@ public class IntegrationTest {
     this.converter = converter;
   }
 
+  /**
+   * Enables the comparison of archives without extracting them to disk.
+   *
+   * <p> Two zip or jar archives are mounted as {@link FileSystem} and
+   * compared entry by entry like two directories. Two gzip compressed files
+   * are decompressed on the fly and their content is passed to
+   * {@link FileComparator#assertEquals(Path, InputStream, Path, InputStream)}.
+   * The type of a file is determined by its extension.
+   *
+   * @return  this {@code IntegrationTest}
+   */
+  public IntegrationTest compareArchivesAsDirectories() {
+    archivesAsDirectories = true;
+    return this;
+  }
+
+  /**
+   * Sets the policy deciding how many differences are collected before
+   * the comparison of the processed and the expected result is stopped.
+   * The default is {@link FailurePolicy#failFast()}.
+   *
+   * @param   failurePolicy
+   *          the policy to use for all following tests
+   *
+   * @return  this {@code IntegrationTest}
+   */
+  public IntegrationTest withFailurePolicy(FailurePolicy failurePolicy) {
+    this.failurePolicy = Objects.requireNonNull(failurePolicy, "failurePolicy must not be null");
+    return this;
+  }
+
+  /**
+   * Records the processing time, the output size and the number of output
+   * files of each successful test executed by {@link #execute(URL, URL)} or
+   * {@link #check(URL, URL)} in the given history. A test case is named by
+   * its source, relative to the working directory if possible.
+   *
+   * <p> Runs failing the comparison or a failing {@link RegressionCheck}
+   * are not recorded, so a regression doesn't become part of the history
+   * it is checked against. Runs with warnings are recorded.
+   *
+   * @param   runHistory
+   *          the history to append the runs to
+   *
+   * @return  this {@code IntegrationTest}
+   */
+  public IntegrationTest withRunHistory(RunHistory runHistory) {
+    return withRunHistory(runHistory, false);
+  }
+
+  /**
+   * Records runs like {@link #withRunHistory(RunHistory)}.
+   *
+   * @param   runHistory
+   *          the history to append the runs to
+   *
+   * @param   recordUnsuccessfulRuns
+   *          {@code true} to record runs failing the comparison or
+   *          a failing {@link RegressionCheck} as well
+   *
+   * @return  this {@code IntegrationTest}
+   */
+  public IntegrationTest withRunHistory(RunHistory runHistory, boolean recordUnsuccessfulRuns) {
+    this.runHistory = Objects.requireNonNull(runHistory, "runHistory must not be null");
+    this.recordUnsuccessfulRuns = recordUnsuccessfulRuns;
+    return this;
+  }
+
+  /**
+   * Checks each recorded run against the recent runs of the same test
+   * case in the {@link RunHistory} before it is appended. A regression
+   * is added to the {@link ComparisonReport} as failure or as warning
+   * depending on the check.
+   *
+   * @param   regressionCheck
+   *          the check to apply, requires a {@link RunHistory}
+   *
+   * @return  this {@code IntegrationTest}
+   *
+   * @see     #withRunHistory(RunHistory)
+   */
+  public IntegrationTest withRegressionCheck(RegressionCheck regressionCheck) {
+    if (runHistory == null)
+      throw new IllegalStateException("a regression check needs a run history");
+    this.regressionCheck = Objects.requireNonNull(regressionCheck, "regressionCheck must not be null");
+    return this;
+  }
+
+  /**
+   * Switches {@link #execute(URL, URL)} to update the expected results
+   * instead of comparing them, see {@link #approve(URL, URL)}. A summary
+   * of the changes is printed to {@link System#out}.
+   *
+   * <p> This is meant for intended changes of the component under test,
+   * e.g. {@code updateExpectedResults(Boolean.getBoolean("itf.approve"))}.
+   *
+   * <p> Expected results loaded from the class path usually are copies made
+   * by the build. Therefore the Maven layout is assumed: an expected result
+   * below {@code target/test-classes} is updated in
+   * {@code src/test/resources} instead, both relative to the working
+   * directory. Use {@link #updateExpectedResults(Path, Path)} for other
+   * layouts.
+   *
+   * @param   update
+   *          {@code true} to update the expected results
+   *
+   * @return  this {@code IntegrationTest}
+   */
+  public IntegrationTest updateExpectedResults(boolean update) {
+    return updateExpectedResults(update,
+            Paths.get("target", "test-classes"),
+            Paths.get("src", "test", "resources"));
+  }
+
+  /**
+   * Switches {@link #execute(URL, URL)} to update the expected results
+   * like {@link #updateExpectedResults(boolean)}, mapping the location the
+   * build copies the expected results to back to their source.
+   *
+   * @param   resourceRoot
+   *          the directory the build copies the expected results to,
+   *          e.g. the test class path
+   *
+   * @param   sourceRoot
+   *          the directory the expected results are maintained in
+   *
+   * @return  this {@code IntegrationTest}
+   */
+  public IntegrationTest updateExpectedResults(Path resourceRoot, Path sourceRoot) {
+    return updateExpectedResults(true, resourceRoot, sourceRoot);
+  }
+
+  private IntegrationTest updateExpectedResults(boolean update, Path resourceRoot, Path sourceRoot) {
+    this.updateExpectedResults = update;
+    this.resourceRoot = Objects.requireNonNull(resourceRoot, "resourceRoot must not be null").toAbsolutePath().normalize();
+    this.sourceRoot = Objects.requireNonNull(sourceRoot, "sourceRoot must not be null").toAbsolutePath().normalize();
+    return this;
+  }
 
   /**
    * Executes the integration test.
@@ -84,6 +243,9 @@ public class IntegrationTest {
    * to match the type of the processed result of the used {@link Processor}.
    * Because files can't be compared to directories.
    *
+   * <p> Warnings of the {@link ComparisonReport}, e.g. of a warning
+   * {@link RegressionCheck}, are printed to {@link System#err}.
+   *
    * @param   source
    *          the data for the component under test to work on
    *
@@ -96,15 +258,159 @@ public class IntegrationTest {
    *         unequal
    */
   public void execute(URL source, URL expectedResult) throws Exception {
+    if (updateExpectedResults) {
+      ApprovalSummary summary = approve(source, expectedResult);
+      if (summary.hasChanges())
+        System.out.println("Updated " + sourceOf(Paths.get(expectedResult.toURI())) + ": " + summary);
+    } else {
+      ComparisonReport report = check(source, expectedResult);
+      for (String warning : report.getWarnings())
+        System.err.println("Warning for " + source + ": " + warning);
+      report.assertSuccessful();
+    }
+  }
+
+  /**
+   * Processes the {@code source} and replaces the expected result with the
+   * processed result.
+   *
+   * <p> Only files which are unequal according to the
+   * {@link FileComparator} are replaced, new files are added and files
+   * missing in the processed result are removed from the expected result.
+   * Files and directories are moved into the expected result by an
+   * atomic rename where possible instead of being copied. Whatever remains
+   * of the processed result is deleted afterwards.
+   *
+   * <p> If {@link #updateExpectedResults(Path, Path)} or
+   * {@link #updateExpectedResults(boolean)} is in use, an expected result
+   * below the resource root is updated below the source root instead.
+   *
+   * @param   source
+   *          the data for the component under test to work on
+   *
+   * @param   expectedResult
+   *          the expected result to update
+   *
+   * @return  the changes made to the expected result
+   *
+   * @throws Exception
+   *         if either the data can't be processed or the expected result
+   *         can't be updated
+   */
+  public ApprovalSummary approve(URL source, URL expectedResult) throws Exception {
     Objects.requireNonNull(source, "source must not be null");
     Objects.requireNonNull(expectedResult, "expectedResult must not be null");
-    execute(Paths.get(source.toURI()), Paths.get(expectedResult.toURI()));
+    return approve(Paths.get(source.toURI()), sourceOf(Paths.get(expectedResult.toURI())));
   }
 
-  private void execute(Path source, Path expectedResult) throws IOException {
+  /**
+   * Processes the {@code source} and replaces the expected result with the
+   * processed result like {@link #approve(URL, URL)}, but writes to the
+   * given location as is.
+   *
+   * @param   source
+   *          the data for the component under test to work on
+   *
+   * @param   expectedResult
+   *          the expected result to update, e.g. in the source tree
+   *
+   * @return  the changes made to the expected result
+   *
+   * @throws Exception
+   *         if either the data can't be processed or the expected result
+   *         can't be updated
+   */
+  public ApprovalSummary approve(URL source, Path expectedResult) throws Exception {
+    Objects.requireNonNull(source, "source must not be null");
+    Objects.requireNonNull(expectedResult, "expectedResult must not be null");
+    return approve(Paths.get(source.toURI()), expectedResult);
+  }
+
+  private Path sourceOf(Path expectedResult) {
+    if (resourceRoot == null)
+      return expectedResult;
+    Path absoluteExpectedResult = expectedResult.toAbsolutePath().normalize();
+    return absoluteExpectedResult.startsWith(resourceRoot)
+            ? sourceRoot.resolve(resourceRoot.relativize(absoluteExpectedResult).toString())
+            : expectedResult;
+  }
+
+  private ApprovalSummary approve(Path source, Path expectedResult) throws IOException {
     Path processedResult = processor.process(source);
-    assertEquals(expectedResult, processedResult);
-    deleteDirectory(processedResult);
+    ApprovalSummary summary = new ApprovalSummary();
+    approve(
+            expectedResult, DirectoryEntry.readAttributes(expectedResult),
+            processedResult, DirectoryEntry.readAttributes(processedResult),
+            summary);
+    if (Files.exists(processedResult))
+      deleteDirectory(processedResult);
+    return summary;
+  }
+
+  /**
+   * Executes the integration test like {@link #execute(URL, URL)} but
+   * reports differences between the processed and the expected result
+   * instead of throwing them.
+   *
+   * <p> How many differences are collected depends on the
+   * {@link FailurePolicy}. The processed result is only deleted
+   * if the report is successful.
+   *
+   * @param   source
+   *          the data for the component under test to work on
+   *
+   * @param   expectedResult
+   *          the expected result the component under test has to
+   *          produce
+   *
+   * @return  the differences found
+   *
+   * @throws Exception
+   *         if the data can't be processed or read
+   */
+  public ComparisonReport check(URL source, URL expectedResult) throws Exception {
+    Objects.requireNonNull(source, "source must not be null");
+    Objects.requireNonNull(expectedResult, "expectedResult must not be null");
+    return check(Paths.get(source.toURI()), Paths.get(expectedResult.toURI()));
+  }
+
+  private ComparisonReport check(Path source, Path expectedResult) throws IOException {
+    long start = System.nanoTime();
+    Path processedResult = processor.process(source);
+    Duration processingTime = Duration.ofNanos(System.nanoTime() - start);
+
+    RunHistory.Run run = runHistory == null ? null : measureRun(source, processingTime, processedResult);
+
+    ComparisonReport report = compare(expectedResult, processedResult);
+    if (run != null)
+      recordRun(run, expectedResult, processedResult, report);
+    if (report.isSuccessful())
+      deleteDirectory(processedResult);
+    return report;
+  }
+
+  private static RunHistory.Run measureRun(Path source, Duration processingTime, Path processedResult) throws IOException {
+    FileTreeSize outputSize = FileTreeSize.of(processedResult);
+    return new RunHistory.Run(Instant.now(), caseName(source), processingTime, outputSize.getSize(), outputSize.getFileCount());
+  }
+
+  private static String caseName(Path source) {
+    Path workingDirectory = Paths.get("").toAbsolutePath();
+    Path absoluteSource = source.toAbsolutePath();
+    return absoluteSource.startsWith(workingDirectory)
+            ? workingDirectory.relativize(absoluteSource).toString().replace(File.separatorChar, '/')
+            : absoluteSource.toString();
+  }
+
+  private void recordRun(RunHistory.Run run, Path expectedResult, Path processedResult, ComparisonReport report) throws IOException {
+    if (regressionCheck != null)
+      for (String regression : regressionCheck.check(run, runHistory.recentRuns(run.getCaseName(), regressionCheck.getWindow())))
+        if (regressionCheck.isFailing())
+          report.addFailure(expectedResult, processedResult, new AssertionError(regression));
+        else
+          report.addWarning(regression);
+    if (report.isSuccessful() || recordUnsuccessfulRuns)
+      runHistory.append(run);
   }
 
   public void execute(URL source, URL source2, boolean delResults) throws Exception {
@@ -116,7 +422,7 @@ public class IntegrationTest {
   private void execute(Path source, Path source2, boolean delResults) throws IOException {
     Path processedResult = processor.process(source);
     Path processedResult2 = processor2.process(source2);
-    assertEquals(processedResult, processedResult2);
+    compare(processedResult, processedResult2).assertSuccessful();
     if (delResults){
       deleteDirectory(processedResult);
       deleteDirectory(processedResult2);
@@ -134,45 +440,191 @@ public class IntegrationTest {
     Path convertedResult = converter.process(source);
     Path processConvertedResult = processor2.process(convertedResult);
 
-    assertEquals(processConvertedResult, processedResult);
+    compare(processConvertedResult, processedResult).assertSuccessful();
 
     deleteDirectory(processedResult);
     deleteDirectory(convertedResult);
     deleteDirectory(processConvertedResult);
   }
 
+  private ComparisonReport compare(Path expectedResult, Path processedResult) throws IOException {
+    return compare(expectedResult, processedResult, failurePolicy);
+  }
+
+  private ComparisonReport compare(Path expectedResult, Path processedResult, FailurePolicy failurePolicy) throws IOException {
+    ComparisonReport report = new ComparisonReport(failurePolicy);
+    assertEquals(expectedResult, processedResult, report);
+    return report;
+  }
+
+  private void assertEquals(Path expectedResult, Path processedResult, ComparisonReport report) throws IOException {
+    assertEquals(
+            expectedResult, DirectoryEntry.readAttributes(expectedResult),
+            processedResult, DirectoryEntry.readAttributes(processedResult),
+            report);
+  }
+
+  private void assertEquals(
+          Path expectedResult, BasicFileAttributes expectedAttributes,
+          Path processedResult, BasicFileAttributes processedAttributes,
+          ComparisonReport report) throws IOException {
+    if (! report.isToBeContinued())
+      return;
 
-  private void assertEquals(Path expectedResult, Path processedResult) throws IOException {
-    if (Files.isDirectory(expectedResult) && Files.isDirectory(processedResult))
-      assertEqualsDirectories(expectedResult, processedResult);
-    else if (Files.isRegularFile(expectedResult) && Files.isRegularFile(processedResult))
-      fileComparator.assertEquals(expectedResult, processedResult);
-    else if (Files.notExists(expectedResult))
-      throw new IllegalArgumentException(expectedResult + " doesn't exist but " + processedResult + " exists.");
-    else if (Files.notExists(processedResult))
-      throw new IllegalArgumentException(expectedResult + " exists but " + processedResult + " doesn't exist.");
+    if (expectedAttributes == null)
+      report.addFailure(expectedResult, processedResult,
+              new IllegalArgumentException(expectedResult + " doesn't exist but " + processedResult + " exists."));
+    else if (processedAttributes == null)
+      report.addFailure(expectedResult, processedResult,
+              new IllegalArgumentException(expectedResult + " exists but " + processedResult + " doesn't exist."));
+    else if (expectedAttributes.isDirectory() && processedAttributes.isDirectory())
+      assertEqualsDirectories(expectedResult, processedResult, report);
+    else if (expectedAttributes.isRegularFile() && processedAttributes.isRegularFile())
+      assertEqualsFiles(expectedResult, processedResult, report);
     else
-      throw new IllegalArgumentException("the results have to be both directories or both files: " + expectedResult + " " + processedResult);
+      report.addFailure(expectedResult, processedResult,
+              new IllegalArgumentException("the results have to be both directories or both files: " + expectedResult + " " + processedResult));
   }
 
-  private void assertEqualsDirectories(Path expectedResult, Path actualResult) throws IOException {
-    Set<Path> processedExpectedFiles = new HashSet<>();
+  private void assertEqualsFiles(Path expectedFile, Path processedFile, ComparisonReport report) throws IOException {
+    if (archivesAsDirectories && isZipArchive(expectedFile) && isZipArchive(processedFile)) {
+      assertEqualsArchives(expectedFile, processedFile, report);
+      return;
+    }
 
-    try (DirectoryStream<Path> actualDirectory = Files.newDirectoryStream(actualResult)) {
-      for (Path fileInActualResult : actualDirectory) {
-        Path fileInExpectedResult = expectedResult.resolve(fileInActualResult.getFileName());
-        processedExpectedFiles.add(fileInExpectedResult);
-        assertEquals(fileInExpectedResult, fileInActualResult);
+    report.addComparedFile();
+    try {
+      if (archivesAsDirectories && isGzipFile(expectedFile) && isGzipFile(processedFile))
+        try (
+                InputStream expectedStream = Files.newInputStream(expectedFile);
+                InputStream processedStream = Files.newInputStream(processedFile);
+                ) {
+          fileComparator.assertEquals(
+                  expectedFile, new GZIPInputStream(expectedStream),
+                  processedFile, new GZIPInputStream(processedStream));
+        }
+      else
+        fileComparator.assertEquals(expectedFile, processedFile);
+    } catch (AssertionError | RuntimeException ex) {
+      report.addFailure(expectedFile, processedFile, ex);
+    } catch (ZipException ex) {
+      report.addFailure(expectedFile, processedFile,
+              new IllegalArgumentException("the results have to be gzip files: " + expectedFile + " " + processedFile, ex));
+    }
+  }
+
+  private void assertEqualsArchives(Path expectedFile, Path processedFile, ComparisonReport report) throws IOException {
+    FileSystem expectedArchive = mountArchive(expectedFile, expectedFile, processedFile, report);
+    if (expectedArchive == null)
+      return;
+    FileSystem processedArchive = mountArchive(processedFile, expectedFile, processedFile, report);
+    if (processedArchive == null) {
+      expectedArchive.close();
+      return;
+    }
+
+    try (expectedArchive; processedArchive) {
+      report.enterArchives(expectedFile, processedFile);
+      try {
+        assertEqualsDirectories(
+                expectedArchive.getRootDirectories().iterator().next(),
+                processedArchive.getRootDirectories().iterator().next(),
+                report);
+      } finally {
+        report.leaveArchives();
       }
     }
+  }
 
-    try (DirectoryStream<Path> expectedDirectory = Files.newDirectoryStream(expectedResult)) {
-      for (Path fileInExpectedResult : expectedDirectory) {
-        if (! processedExpectedFiles.contains(fileInExpectedResult)) {
-          Path fileInActualResult = actualResult.resolve(fileInExpectedResult.getFileName());
-          assertEquals(fileInExpectedResult, fileInActualResult);
-        }
+  /**
+   * @return  the mounted archive or {@code null} if it can't be read as zip
+   *          archive, which is reported as failure
+   */
+  private static FileSystem mountArchive(Path archive, Path expectedFile, Path processedFile, ComparisonReport report) throws IOException {
+    try {
+      return FileSystems.newFileSystem(archive);
+    } catch (ZipException | ProviderNotFoundException ex) {
+      report.addComparedFile();
+      report.addFailure(expectedFile, processedFile,
+              new IllegalArgumentException(archive + " is not a readable zip archive", ex));
+      return null;
+    }
+  }
+
+  private static boolean isZipArchive(Path file) {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    return name.endsWith(".zip") || name.endsWith(".jar");
+  }
+
+  private static boolean isGzipFile(Path file) {
+    return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+  }
+
+  /**
+   * Compares two directories by listing each of them once, sorted by name,
+   * and walking both listings side by side. An entry found in only one
+   * of the listings is reported as missing or unexpected right away.
+   */
+  private void assertEqualsDirectories(Path expectedResult, Path actualResult, ComparisonReport report) throws IOException {
+    DirectoryEntry.mergeSorted(expectedResult, actualResult,
+            (expected, expectedAttributes, actual, actualAttributes) -> {
+              assertEquals(expected, expectedAttributes, actual, actualAttributes, report);
+              return ! report.isStopped();
+            });
+  }
+
+  private void approve(
+          Path expected, BasicFileAttributes expectedAttributes,
+          Path processed, BasicFileAttributes processedAttributes,
+          ApprovalSummary summary) throws IOException {
+    if (processedAttributes == null) {
+      if (expectedAttributes != null) {
+        deleteDirectory(expected);
+        summary.addRemoved(expected);
+      }
+    } else if (expectedAttributes == null) {
+      if (expected.getParent() != null)
+        Files.createDirectories(expected.getParent());
+      move(processed, expected);
+      summary.addAdded(expected);
+    } else if (expectedAttributes.isDirectory() && processedAttributes.isDirectory()) {
+      DirectoryEntry.mergeSorted(expected, processed,
+              (expectedEntry, expectedEntryAttributes, processedEntry, processedEntryAttributes) -> {
+                approve(expectedEntry, expectedEntryAttributes, processedEntry, processedEntryAttributes, summary);
+                return true;
+              });
+    } else if (expectedAttributes.isRegularFile() && processedAttributes.isRegularFile()) {
+      if (compare(expected, processed, FailurePolicy.failFast()).isSuccessful())
+        summary.addUnchanged();
+      else {
+        move(processed, expected);
+        summary.addUpdated(expected);
       }
+    } else {
+      deleteDirectory(expected);
+      move(processed, expected);
+      summary.addUpdated(expected);
+    }
+  }
+
+  /**
+   * Moves a file or directory by an atomic rename if source and target are
+   * on the same file store. Otherwise regular files are copied and deleted
+   * one by one.
+   */
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException ex) {
+      if (Files.isDirectory(source)) {
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(source)) {
+          for (Path child : children)
+            move(child, target.resolve(child.getFileName().toString()));
+        }
+        Files.delete(source);
+      } else
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
     }
   }
 
@@ -2,7 +2,6 @@ package de.schloessin.itf;
 
 import java.io.*;
 import java.nio.file.*;
-import org.junit.jupiter.api.Assertions;
 import org.pdfbox.cos.COSDocument;
 import org.pdfbox.pdfparser.PDFParser;
 import org.pdfbox.pdmodel.PDDocument;
@@ -14,19 +13,26 @@ import org.pdfbox.util.PDFTextStripper;
  */
 public class PdfFileComparator implements FileComparator {
 
+  private static final TextNormalizer NORMALIZER = new TextNormalizer(true, true);
+
   @Override
   public void assertEquals(Path expectedFile, Path processedFile) {
+    try (
+            InputStream expected = newInputStream(expectedFile);
+            InputStream processed = newInputStream(processedFile);
+            ) {
+      assertEquals(expectedFile, expected, processedFile, processed);
+    } catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @Override
+  public void assertEquals(Path expectedFile, InputStream expectedContent, Path processedFile, InputStream processedContent) {
     try {
-      String textOfExpectedPdf = pdfToString(expectedFile)
-              .replaceAll("\\s+", " ")
-              .toUpperCase();
-      String textOfProcessedPdf = pdfToString(processedFile)
-              .replaceAll("\\s+", " ")
-              .toUpperCase();
-
-      Assertions.assertEquals(
-              textOfExpectedPdf,
-              textOfProcessedPdf,
+      NORMALIZER.assertEquals(
+              pdfToString(expectedContent),
+              pdfToString(processedContent),
               expectedFile.getFileName().toString());
 
     } catch (IOException ex) {
@@ -34,18 +40,20 @@ public class PdfFileComparator implements FileComparator {
     }
   }
 
-  private static String pdfToString(Path file) throws IOException {
+  private static InputStream newInputStream(Path file) throws IOException {
     if (! Files.isRegularFile(file))
       throw new IllegalArgumentException("File " + file.toString() + " does not exist.");
 
-    try (InputStream istream = Files.newInputStream(file)) {
-      PDFParser parser = new PDFParser(istream);
-      parser.parse();
-      COSDocument document = parser.getDocument();
-      String text = new PDFTextStripper().getText(new PDDocument(document));
-      document.close();
-      return text;
-    }
+    return Files.newInputStream(file);
+  }
+
+  private static String pdfToString(InputStream istream) throws IOException {
+    PDFParser parser = new PDFParser(istream);
+    parser.parse();
+    COSDocument document = parser.getDocument();
+    String text = new PDFTextStripper().getText(new PDDocument(document));
+    document.close();
+    return text;
   }
 
 }
@@ -0,0 +1,28 @@
+package de.schloessin.itf;
+
+/**
+ * Thrown by a {@link GovernedProcessor} if the wrapped {@link Processor}
+ * exceeded its time limit or disk quota and has been cancelled.
+ *
+ * <p> created 2026-10-19
+ * @see GovernedProcessor
+ */
+public class ProcessorLimitExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient ExecutionStatistics statistics;
+
+  public ProcessorLimitExceededException(String message, ExecutionStatistics statistics) {
+    super(message);
+    this.statistics = statistics;
+  }
+
+  /**
+   * @return  the resources used until the processor was cancelled
+   */
+  public ExecutionStatistics getStatistics() {
+    return statistics;
+  }
+
+}
@@ -0,0 +1,160 @@
+package de.schloessin.itf;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A {@link RegressionCheck} compares a run of a test case with its recent
+ * runs stored in a {@link RunHistory}.
+ *
+ * <p> A run is considered a regression if its processing time is above, or
+ * its output size differs from, the mean of the recent runs by more than
+ * the given number of standard deviations and by more than the given
+ * relative tolerance. The tolerance prevents reports for tiny changes of
+ * very stable measurements. No run is checked until the history holds
+ * enough runs of the test case.
+ *
+ * <p> A regression either fails the test or is reported as warning in the
+ * {@link ComparisonReport}.
+ *
+ * <p> created 2026-10-19
+ * @see IntegrationTest#withRegressionCheck(RegressionCheck)
+ */
+public final class RegressionCheck {
+
+  private final boolean failing;
+  private final int window;
+  private final int minimumRuns;
+  private final double standardDeviations;
+  private final double tolerance;
+
+  private RegressionCheck(boolean failing, int window, int minimumRuns, double standardDeviations, double tolerance) {
+    this.failing = failing;
+    this.window = window;
+    this.minimumRuns = minimumRuns;
+    this.standardDeviations = standardDeviations;
+    this.tolerance = tolerance;
+  }
+
+  /**
+   * Returns a check failing the test on a regression. It compares with
+   * up to 20 recent runs, needs at least 5 of them and reports deviations
+   * of more than 3 standard deviations and 10 percent.
+   *
+   * @return  a failing check
+   */
+  public static RegressionCheck failing() {
+    return new RegressionCheck(true, 20, 5, 3.0, 0.1);
+  }
+
+  /**
+   * Returns a check like {@link #failing()} which only adds warnings to the
+   * {@link ComparisonReport}.
+   *
+   * @return  a warning check
+   */
+  public static RegressionCheck warning() {
+    return new RegressionCheck(false, 20, 5, 3.0, 0.1);
+  }
+
+  /**
+   * @param   window
+   *          the maximal number of recent runs to compare with
+   *
+   * @param   minimumRuns
+   *          the number of recent runs needed to check a run at all
+   *
+   * @return  a copy of this check using the given history
+   */
+  public RegressionCheck withHistory(int window, int minimumRuns) {
+    if (minimumRuns < 2 || window < minimumRuns)
+      throw new IllegalArgumentException("need 2 <= minimumRuns <= window: " + minimumRuns + ", " + window);
+    return new RegressionCheck(failing, window, minimumRuns, standardDeviations, tolerance);
+  }
+
+  /**
+   * @param   standardDeviations
+   *          the number of standard deviations a run may differ from the mean
+   *
+   * @param   tolerance
+   *          the relative difference to the mean a run may have regardless of
+   *          the standard deviation, e.g. {@code 0.1} for 10 percent
+   *
+   * @return  a copy of this check using the given threshold
+   */
+  public RegressionCheck withThreshold(double standardDeviations, double tolerance) {
+    if (standardDeviations < 0 || tolerance < 0)
+      throw new IllegalArgumentException("threshold must not be negative: " + standardDeviations + ", " + tolerance);
+    return new RegressionCheck(failing, window, minimumRuns, standardDeviations, tolerance);
+  }
+
+  public boolean isFailing() {
+    return failing;
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  /**
+   * Checks a run against the recent runs of the same test case.
+   *
+   * @param   run
+   *          the run to check, not yet contained in {@code recentRuns}
+   *
+   * @param   recentRuns
+   *          the recent runs of the test case
+   *
+   * @return  a description of every regression found, empty if there is none
+   */
+  List<String> check(RunHistory.Run run, List<RunHistory.Run> recentRuns) {
+    if (recentRuns.size() < minimumRuns)
+      return Collections.emptyList();
+
+    List<String> regressions = new ArrayList<>();
+    double time = run.getProcessingTime().toNanos();
+    double timeLimit = upperLimit(recentRuns, r -> r.getProcessingTime().toNanos());
+    if (time > timeLimit)
+      regressions.add(String.format(Locale.ROOT,
+              "processing time of %s regressed: %.1f ms, limit %.1f ms",
+              run.getCaseName(), time / 1e6, timeLimit / 1e6));
+
+    double sizeMean = mean(recentRuns, RunHistory.Run::getOutputSize);
+    double sizeLimit = allowedDeviation(recentRuns, RunHistory.Run::getOutputSize);
+    if (Math.abs(run.getOutputSize() - sizeMean) > sizeLimit)
+      regressions.add(String.format(Locale.ROOT,
+              "output size of %s changed: %d bytes, mean %.0f bytes",
+              run.getCaseName(), run.getOutputSize(), sizeMean));
+
+    return regressions;
+  }
+
+  private double upperLimit(List<RunHistory.Run> runs, ToDoubleFunction<RunHistory.Run> measure) {
+    return mean(runs, measure) + allowedDeviation(runs, measure);
+  }
+
+  private double allowedDeviation(List<RunHistory.Run> runs, ToDoubleFunction<RunHistory.Run> measure) {
+    double mean = mean(runs, measure);
+    double sumOfSquares = 0;
+    for (RunHistory.Run r : runs) {
+      double d = measure.applyAsDouble(r) - mean;
+      sumOfSquares += d * d;
+    }
+    double standardDeviation = Math.sqrt(sumOfSquares / (runs.size() - 1));
+    return Math.max(standardDeviations * standardDeviation, tolerance * Math.abs(mean));
+  }
+
+  private static double mean(List<RunHistory.Run> runs, ToDoubleFunction<RunHistory.Run> measure) {
+    double sum = 0;
+    for (RunHistory.Run r : runs)
+      sum += measure.applyAsDouble(r);
+    return sum / runs.size();
+  }
+
+  @Override
+  public String toString() {
+    return "RegressionCheck{failing=" + failing + ", window=" + window + ", minimumRuns=" + minimumRuns
+            + ", standardDeviations=" + standardDeviations + ", tolerance=" + tolerance + '}';
+  }
+
+}
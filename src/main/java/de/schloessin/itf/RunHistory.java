@@ -0,0 +1,165 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+/**
+ * A {@link RunHistory} stores measurements of the {@link Processor} runs
+ * of an {@link IntegrationTest} in a local CSV file.
+ *
+ * <p> Each line of the file holds one run: the point in time, the processing
+ * time in nanoseconds, the size of the processed result in bytes, the number
+ * of regular files in the processed result and the name of the test case.
+ * Runs are only ever appended to the file.
+ *
+ * <p> created 2026-10-19
+ * @see IntegrationTest#withRunHistory(RunHistory)
+ * @see RegressionCheck
+ */
+public class RunHistory {
+
+  /**
+   * The measurements of a single run of a test case.
+   */
+  public static final class Run {
+    private final Instant timestamp;
+    private final String caseName;
+    private final Duration processingTime;
+    private final long outputSize;
+    private final long fileCount;
+
+    public Run(Instant timestamp, String caseName, Duration processingTime, long outputSize, long fileCount) {
+      this.timestamp = Objects.requireNonNull(timestamp, "timestamp must not be null");
+      this.caseName = Objects.requireNonNull(caseName, "caseName must not be null");
+      this.processingTime = Objects.requireNonNull(processingTime, "processingTime must not be null");
+      this.outputSize = outputSize;
+      this.fileCount = fileCount;
+    }
+
+    public Instant getTimestamp() {
+      return timestamp;
+    }
+
+    public String getCaseName() {
+      return caseName;
+    }
+
+    public Duration getProcessingTime() {
+      return processingTime;
+    }
+
+    /**
+     * @return  the sum of the sizes of all regular files in the processed
+     *          result in bytes
+     */
+    public long getOutputSize() {
+      return outputSize;
+    }
+
+    /**
+     * @return  the number of regular files in the processed result
+     */
+    public long getFileCount() {
+      return fileCount;
+    }
+
+    @Override
+    public String toString() {
+      return caseName + " at " + timestamp + ": " + processingTime + ", "
+              + outputSize + " bytes in " + fileCount + " file(s)";
+    }
+  }
+
+  private static final String SEPARATOR = ",";
+
+  private final Path file;
+
+  /**
+   * Creates a history stored in the given file.
+   * The file is created with the first run appended.
+   *
+   * @param   file
+   *          the CSV file to read and append runs
+   */
+  public RunHistory(Path file) {
+    this.file = Objects.requireNonNull(file, "file must not be null");
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Appends a run to the end of the history.
+   *
+   * @param   run
+   *          the run to append
+   *
+   * @throws  IOException
+   *          if the history can't be written
+   */
+  public synchronized void append(Run run) throws IOException {
+    String line = run.getTimestamp().toEpochMilli()
+            + SEPARATOR + run.getProcessingTime().toNanos()
+            + SEPARATOR + run.getOutputSize()
+            + SEPARATOR + run.getFileCount()
+            + SEPARATOR + run.getCaseName().replace('\n', ' ').replace('\r', ' ')
+            + System.lineSeparator();
+    Files.write(file, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  /**
+   * Reads the most recent runs of a test case.
+   *
+   * @param   caseName
+   *          the name of the test case
+   *
+   * @param   limit
+   *          the maximal number of runs to return
+   *
+   * @return  the most recent runs of the test case, oldest first
+   *
+   * @throws  IOException
+   *          if the history can't be read
+   */
+  public synchronized List<Run> recentRuns(String caseName, int limit) throws IOException {
+    if (limit < 1)
+      throw new IllegalArgumentException("limit must be positive: " + limit);
+    if (Files.notExists(file))
+      return Collections.emptyList();
+
+    Deque<Run> runs = new ArrayDeque<>(limit);
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        Run run = parse(line);
+        if (run == null || ! run.getCaseName().equals(caseName))
+          continue;
+        if (runs.size() == limit)
+          runs.removeFirst();
+        runs.addLast(run);
+      }
+    }
+    return new ArrayList<>(runs);
+  }
+
+  private static Run parse(String line) {
+    String[] fields = line.split(SEPARATOR, 5);
+    if (fields.length < 5)
+      return null;
+    try {
+      return new Run(
+              Instant.ofEpochMilli(Long.parseLong(fields[0])),
+              fields[4],
+              Duration.ofNanos(Long.parseLong(fields[1])),
+              Long.parseLong(fields[2]),
+              Long.parseLong(fields[3]));
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+}
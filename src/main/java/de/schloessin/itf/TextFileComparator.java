@@ -16,6 +16,8 @@ public class TextFileComparator implements FileComparator {
   private final Charset charset;
   private final List<Pattern> linesToIgnore = new ArrayList<>();
   private boolean trimLiniesBeforeCompare = false;
+  private boolean collapseWhitespaceBeforeCompare = false;
+  private boolean ignoreCaseBeforeCompare = false;
 
   public TextFileComparator() {
     this(Charset.defaultCharset());
@@ -35,31 +37,70 @@ public class TextFileComparator implements FileComparator {
     return this;
   }
 
+  /**
+   * Treats each run of whitespace within a line like a single blank.
+   * Lines are normalized while they are compared, see {@link TextNormalizer}.
+   *
+   * @return  this {@code TextFileComparator}
+   */
+  public TextFileComparator collapseWhitespaceBeforeCompare() {
+    collapseWhitespaceBeforeCompare = true;
+    return this;
+  }
+
+  /**
+   * Compares lines regardless of upper and lower case.
+   * Lines are normalized while they are compared, see {@link TextNormalizer}.
+   *
+   * @return  this {@code TextFileComparator}
+   */
+  public TextFileComparator ignoreCaseBeforeCompare() {
+    ignoreCaseBeforeCompare = true;
+    return this;
+  }
+
   @Override
   public void assertEquals(Path expectedFile, Path actualFile) throws IOException, AssertionError {
     try (
-            LineNumberReader expected = new LineNumberReader(Files.newBufferedReader(expectedFile, charset));
-            LineNumberReader actual = new LineNumberReader(Files.newBufferedReader(actualFile, charset));
+            BufferedReader expected = Files.newBufferedReader(expectedFile, charset);
+            BufferedReader actual = Files.newBufferedReader(actualFile, charset);
             ) {
-      String expectedLine = getNextLineToTakenCareOf(expected);
-      String actualLine = getNextLineToTakenCareOf(actual);
-      while (expectedLine != null || actualLine != null) {
-        if (expectedLine != null && actualLine != null) {
-          if (trimLiniesBeforeCompare) {
-            expectedLine = expectedLine.trim();
-            actualLine = actualLine.trim();
-          }
-        }
+      assertEquals(expectedFile, expected, actualFile, actual);
+    }
+  }
 
-        Assertions.assertEquals(
-                expectedLine,
-                actualLine,
-                "File " + expectedFile + ":" + expected.getLineNumber()
-                + " differs from " + actualFile + ":" + actual.getLineNumber());
+  @Override
+  public void assertEquals(Path expectedFile, InputStream expectedContent, Path actualFile, InputStream actualContent) throws IOException, AssertionError {
+    assertEquals(
+            expectedFile, new BufferedReader(new InputStreamReader(expectedContent, charset)),
+            actualFile, new BufferedReader(new InputStreamReader(actualContent, charset)));
+  }
 
-        expectedLine = getNextLineToTakenCareOf(expected);
-        actualLine = getNextLineToTakenCareOf(actual);
+  private void assertEquals(Path expectedFile, Reader expectedReader, Path actualFile, Reader actualReader) throws IOException, AssertionError {
+    TextNormalizer normalizer = collapseWhitespaceBeforeCompare || ignoreCaseBeforeCompare
+            ? new TextNormalizer(collapseWhitespaceBeforeCompare, ignoreCaseBeforeCompare)
+            : null;
+    LineNumberReader expected = new LineNumberReader(expectedReader);
+    LineNumberReader actual = new LineNumberReader(actualReader);
+    String expectedLine = getNextLineToTakenCareOf(expected);
+    String actualLine = getNextLineToTakenCareOf(actual);
+    while (expectedLine != null || actualLine != null) {
+      if (expectedLine != null && actualLine != null) {
+        if (trimLiniesBeforeCompare) {
+          expectedLine = expectedLine.trim();
+          actualLine = actualLine.trim();
+        }
       }
+
+      String message = "File " + expectedFile + ":" + expected.getLineNumber()
+              + " differs from " + actualFile + ":" + actual.getLineNumber();
+      if (normalizer != null && expectedLine != null && actualLine != null)
+        normalizer.assertEquals(expectedLine, actualLine, message);
+      else
+        Assertions.assertEquals(expectedLine, actualLine, message);
+
+      expectedLine = getNextLineToTakenCareOf(expected);
+      actualLine = getNextLineToTakenCareOf(actual);
     }
   }
 
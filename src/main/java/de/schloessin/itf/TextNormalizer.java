@@ -0,0 +1,159 @@
+package de.schloessin.itf;
+
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * A {@link TextNormalizer} compares two texts as if runs of whitespace were
+ * collapsed into a single blank and all characters were upper case.
+ *
+ * <p> The normalization is done character by character while comparing,
+ * so no normalized copy of the texts is created and the comparison stops at
+ * the first difference. This is equivalent to comparing
+ * {@code text.replaceAll("\\s+", " ").toUpperCase(Locale.ROOT)} except for
+ * characters changing their length when converted to upper case, e.g.
+ * {@code ß}. The case is folded per code point and independent of the
+ * default locale, so unlike {@link String#toUpperCase()} under a Turkish
+ * locale {@code i} always becomes {@code I}. Positions are counted in code
+ * points of the normalized text.
+ *
+ * <p> created 2026-10-19
+ * @see PdfFileComparator
+ * @see TextFileComparator#collapseWhitespaceBeforeCompare()
+ * @see TextFileComparator#ignoreCaseBeforeCompare()
+ */
+public final class TextNormalizer {
+
+  private static final int CONTEXT_LENGTH = 40;
+
+  private final boolean collapseWhitespace;
+  private final boolean ignoreCase;
+
+  /**
+   * @param   collapseWhitespace
+   *          {@code true} to treat each run of whitespace like a single blank
+   *
+   * @param   ignoreCase
+   *          {@code true} to treat all characters like upper case characters
+   */
+  public TextNormalizer(boolean collapseWhitespace, boolean ignoreCase) {
+    this.collapseWhitespace = collapseWhitespace;
+    this.ignoreCase = ignoreCase;
+  }
+
+  /**
+   * Finds the first difference of two texts after normalization.
+   *
+   * @param   expected
+   *          the expected text
+   *
+   * @param   actual
+   *          the actual text
+   *
+   * @return  the code point position of the first difference in the
+   *          normalized texts or {@code -1} if they are equal
+   */
+  public int mismatch(CharSequence expected, CharSequence actual) {
+    Cursor e = new Cursor(expected);
+    Cursor a = new Cursor(actual);
+    int position = 0;
+    while (true) {
+      int c = e.next();
+      if (c != a.next())
+        return position;
+      if (c < 0)
+        return -1;
+      position ++;
+    }
+  }
+
+  /**
+   * @return  {@code true} if both texts are equal after normalization
+   */
+  public boolean areEqual(CharSequence expected, CharSequence actual) {
+    return mismatch(expected, actual) < 0;
+  }
+
+  /**
+   * Normalizes a part of a text, e.g. to show the context of a difference.
+   *
+   * @param   text
+   *          the text to normalize
+   *
+   * @param   from
+   *          the first code point position in the normalized text
+   *
+   * @param   length
+   *          the maximal number of normalized code points
+   *
+   * @return  the normalized part of the text
+   */
+  public String normalize(CharSequence text, int from, int length) {
+    StringBuilder normalized = new StringBuilder(Math.min(length, text.length()));
+    Cursor cursor = new Cursor(text);
+    long end = (long) from + length;
+    int c;
+    for (long position = 0; position < end && (c = cursor.next()) >= 0; position ++)
+      if (position >= from)
+        normalized.appendCodePoint(c);
+    return normalized.toString();
+  }
+
+  /**
+   * Throws an {@link AssertionError} showing the context of the first
+   * difference if the two texts are unequal after normalization.
+   *
+   * @param   expected
+   *          the expected text
+   *
+   * @param   actual
+   *          the actual text
+   *
+   * @param   message
+   *          the message of the error
+   *
+   * @throws  AssertionError
+   *          if the texts are unequal
+   */
+  public void assertEquals(CharSequence expected, CharSequence actual, String message) throws AssertionError {
+    int mismatch = mismatch(expected, actual);
+    if (mismatch < 0)
+      return;
+
+    int from = Math.max(0, mismatch - CONTEXT_LENGTH);
+    Assertions.assertEquals(
+            normalize(expected, from, 2 * CONTEXT_LENGTH),
+            normalize(actual, from, 2 * CONTEXT_LENGTH),
+            message + " (first difference at normalized position " + mismatch + ")");
+  }
+
+  private final class Cursor {
+    private final CharSequence text;
+    private int index = 0;
+
+    Cursor(CharSequence text) {
+      this.text = text;
+    }
+
+    int next() {
+      if (index >= text.length())
+        return -1;
+
+      int c = Character.codePointAt(text, index);
+      index += Character.charCount(c);
+      if (collapseWhitespace && isWhitespace(c)) {
+        while (index < text.length() && isWhitespace(text.charAt(index)))
+          index ++;
+        return ' ';
+      }
+      return ignoreCase ? Character.toUpperCase(c) : c;
+    }
+  }
+
+  /**
+   * Whitespace as matched by {@code \s} in a {@link java.util.regex.Pattern}.
+   */
+  private static boolean isWhitespace(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+  }
+
+}
@@ -0,0 +1,60 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.Collections;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * created 2026-10-19
+ */
+public class ForkedProcessorTest {
+
+  /**
+   * Writes the maximum heap size of its JVM next to the source.
+   */
+  public static class HeapSizeProcessor implements Processor {
+
+    @Override
+    public Path process(Path source) {
+      try {
+        return Files.write(source.resolveSibling("result"),
+                Collections.singletonList(String.valueOf(Runtime.getRuntime().maxMemory())));
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  public static class NullProcessor implements Processor {
+
+    @Override
+    public Path process(Path source) {
+      return null;
+    }
+  }
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testProcessorRunsInForkedJvm() throws IOException {
+    Path result = new ForkedProcessor(HeapSizeProcessor.class)
+            .withMaxHeap("64m")
+            .process(tempDir.resolve("source"));
+
+    assertEquals(tempDir.resolve("result").toAbsolutePath(), result);
+    long maxHeap = Long.parseLong(Files.readAllLines(result).get(0));
+    assertTrue(maxHeap <= 64L * 1024 * 1024, "max heap " + maxHeap);
+  }
+
+  @Test
+  public void testNullResultIsAFailure() {
+    ForkedProcessor processor = new ForkedProcessor(NullProcessor.class);
+
+    assertThrows(IllegalStateException.class, () -> processor.process(tempDir));
+  }
+
+}
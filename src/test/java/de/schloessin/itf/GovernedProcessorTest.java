@@ -0,0 +1,98 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * created 2026-10-19
+ */
+public class GovernedProcessorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testResultAndStatisticsOfAFinishedRun() {
+    Path output = tempDir.resolve("output");
+    GovernedProcessor processor = new GovernedProcessor(source -> writeBytes(output, 100))
+            .withTimeout(Duration.ofSeconds(10));
+
+    assertEquals(output, processor.process(tempDir));
+    assertEquals(100, processor.getLastExecution().getPeakOutputSize());
+  }
+
+  @Test
+  public void testTimeoutCancelsTheProcessor() {
+    GovernedProcessor processor = new GovernedProcessor(source -> {
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return source;
+    }).withTimeout(Duration.ofMillis(50));
+
+    assertThrows(ProcessorLimitExceededException.class, () -> processor.process(tempDir));
+  }
+
+  @Test
+  public void testDiskQuotaCancelsTheProcessor() {
+    Path output = tempDir.resolve("output");
+    GovernedProcessor processor = new GovernedProcessor(source -> {
+      writeBytes(output, 1000);
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return output;
+    }).withDiskQuota(output, 500).withPollInterval(Duration.ofMillis(10));
+
+    ProcessorLimitExceededException ex = assertThrows(ProcessorLimitExceededException.class, () -> processor.process(tempDir));
+    assertEquals(1000, ex.getStatistics().getPeakOutputSize());
+  }
+
+  @Test
+  public void testDiskQuotaIsCheckedAfterAFastRun() {
+    Path output = tempDir.resolve("output");
+    GovernedProcessor processor = new GovernedProcessor(source -> writeBytes(output, 10_000))
+            .withDiskQuota(output, 100);
+
+    ProcessorLimitExceededException ex = assertThrows(ProcessorLimitExceededException.class, () -> processor.process(tempDir));
+    assertEquals(10_000, ex.getStatistics().getPeakOutputSize());
+    assertEquals(output, ex.getStatistics().getResult());
+    assertSame(ex.getStatistics(), processor.getLastExecution());
+  }
+
+  @Test
+  public void testFailingProcessorReplacesTheLastExecution() {
+    Path output = tempDir.resolve("output");
+    GovernedProcessor processor = new GovernedProcessor(source -> {
+      if (Files.exists(output)) {
+        writeBytes(output, 200);
+        throw new IllegalStateException("processor failed");
+      }
+      return writeBytes(output, 100);
+    }).withDiskQuota(output, 1000);
+    processor.process(tempDir);
+    ExecutionStatistics successful = processor.getLastExecution();
+
+    assertThrows(IllegalStateException.class, () -> processor.process(tempDir));
+    assertNotSame(successful, processor.getLastExecution());
+    assertNull(processor.getLastExecution().getResult());
+    assertEquals(200, processor.getLastExecution().getPeakOutputSize());
+  }
+
+  private static Path writeBytes(Path file, int count) {
+    try {
+      return Files.write(file, new byte[count]);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+}
@@ -0,0 +1,394 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.zip.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * created 2026-10-19
+ */
+public class IntegrationTestTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testEqualDirectoriesAreSuccessful() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "a", "b", "c");
+
+    ComparisonReport report = newIntegrationTest(processed).check(source(), expected.toUri().toURL());
+
+    assertTrue(report.isSuccessful());
+    assertEquals(3, report.getNumberOfComparedFiles());
+    assertTrue(Files.notExists(processed));
+  }
+
+  @Test
+  public void testFailFastStopsAtFirstDifference() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "x", "y", "z");
+
+    ComparisonReport report = newIntegrationTest(processed).check(source(), expected.toUri().toURL());
+
+    assertFalse(report.isSuccessful());
+    assertEquals(1, report.getFailures().size());
+    assertTrue(Files.exists(processed));
+  }
+
+  @Test
+  public void testCollectAllReportsEveryDifference() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "x", "y", "z");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .withFailurePolicy(FailurePolicy.collectAll())
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(6, report.getFailures().size());
+    assertThrows(AssertionError.class, report::assertSuccessful);
+  }
+
+  @Test
+  public void testCollectUpToStopsAfterBudget() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "x", "y", "z");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .withFailurePolicy(FailurePolicy.collectUpTo(2))
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(2, report.getFailures().size());
+  }
+
+  @Test
+  public void testExhaustedTimeBudgetIsUnsuccessful() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "a", "b", "c");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .withFailurePolicy(FailurePolicy.collectAll().withTimeBudget(Duration.ZERO))
+            .check(source(), expected.toUri().toURL());
+
+    assertTrue(report.isStoppedByTimeBudget());
+    assertTrue(report.getFailures().isEmpty());
+    assertEquals(0, report.getNumberOfComparedFiles());
+    assertFalse(report.isSuccessful());
+    assertThrows(AssertionError.class, report::assertSuccessful);
+    assertTrue(Files.exists(processed));
+  }
+
+  @Test
+  public void testTimeBudgetExceededDuringTheLastComparisonIsSuccessful() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a");
+    Path processed = createDirectoryWithFiles("processed", "a");
+    FileComparator slowComparator = (expectedFile, processedFile) -> {
+      try {
+        Thread.sleep(300);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    ComparisonReport report = new IntegrationTest(source -> processed, slowComparator)
+            .withFailurePolicy(FailurePolicy.collectAll().withTimeBudget(Duration.ofMillis(100)))
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(1, report.getNumberOfComparedFiles());
+    assertFalse(report.isStoppedByTimeBudget());
+    assertTrue(report.isSuccessful());
+    assertTrue(Files.notExists(processed));
+  }
+
+  @Test
+  public void testSufficientTimeBudgetIsSuccessful() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "a", "b", "x");
+    FailurePolicy policy = FailurePolicy.failFast().withTimeBudget(Duration.ofMinutes(1));
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .withFailurePolicy(policy)
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(1, policy.getMaxFailures());
+    assertFalse(report.isStoppedByTimeBudget());
+    assertEquals(1, report.getFailures().size());
+    assertThrows(IllegalArgumentException.class, () -> FailurePolicy.collectAll().withTimeBudget(Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  public void testMissingAndUnexpectedFilesAreReported() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "b", "c", "d");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .withFailurePolicy(FailurePolicy.collectAll())
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(2, report.getNumberOfComparedFiles());
+    assertEquals(2, report.getFailures().size());
+    assertEquals(expected.resolve("a"), report.getFailures().get(0).getExpectedFile());
+    assertEquals(processed.resolve("d"), report.getFailures().get(1).getProcessedFile());
+  }
+
+  @Test
+  public void testRunsAreRecordedInHistory() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b");
+    RunHistory history = new RunHistory(tempDir.resolve("history.csv"));
+    IntegrationTest test = new IntegrationTest(
+            source -> createDirectoryWithFilesUnchecked("processed", "a", "b"),
+            new TextFileComparator())
+            .withRunHistory(history);
+
+    test.execute(source(), expected.toUri().toURL());
+    test.execute(source(), expected.toUri().toURL());
+
+    List<String> lines = Files.readAllLines(history.getFile());
+    assertEquals(2, lines.size());
+    String caseName = lines.get(0).split(",", 5)[4];
+    List<RunHistory.Run> runs = history.recentRuns(caseName, 10);
+    assertEquals(2, runs.size());
+    assertEquals(2, runs.get(1).getFileCount());
+    assertEquals(Files.size(expected.resolve("a")) + Files.size(expected.resolve("b")), runs.get(1).getOutputSize());
+  }
+
+  @Test
+  public void testFailingRegressionCheckFailsTheTest() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a");
+    RunHistory history = new RunHistory(tempDir.resolve("history.csv"));
+    recordRuns(history, 3, "a");
+
+    IntegrationTest changed = new IntegrationTest(
+            source -> createDirectoryWithFilesUnchecked("processed", "a", "b", "c"),
+            (expectedFile, processedFile) -> {})
+            .withFailurePolicy(FailurePolicy.collectAll())
+            .withRunHistory(history)
+            .withRegressionCheck(RegressionCheck.failing().withHistory(3, 3));
+    ComparisonReport report = changed.check(source(), expected.toUri().toURL());
+
+    assertFalse(report.isSuccessful());
+    assertTrue(report.getFailures().stream()
+            .anyMatch(failure -> failure.getCause().getMessage().startsWith("output size")));
+    assertEquals(3, Files.readAllLines(history.getFile()).size());
+  }
+
+  @Test
+  public void testUnsuccessfulRunsAreNotRecorded() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a");
+    RunHistory history = new RunHistory(tempDir.resolve("history.csv"));
+
+    assertFalse(new IntegrationTest(
+            source -> createDirectoryWithFilesUnchecked("processed", "x"),
+            new TextFileComparator())
+            .withRunHistory(history)
+            .check(source(), expected.toUri().toURL())
+            .isSuccessful());
+    assertTrue(Files.notExists(history.getFile()));
+
+    assertFalse(new IntegrationTest(
+            source -> createDirectoryWithFilesUnchecked("processed", "x"),
+            new TextFileComparator())
+            .withRunHistory(history, true)
+            .check(source(), expected.toUri().toURL())
+            .isSuccessful());
+    assertEquals(1, Files.readAllLines(history.getFile()).size());
+  }
+
+  @Test
+  public void testRegressionWarningIsPrintedByExecute() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    RunHistory history = new RunHistory(tempDir.resolve("history.csv"));
+    recordRuns(history, 3, "a");
+
+    IntegrationTest changed = new IntegrationTest(
+            source -> createDirectoryWithFilesUnchecked("processed", "a", "b", "c"),
+            (expectedFile, processedFile) -> {})
+            .withRunHistory(history)
+            .withRegressionCheck(RegressionCheck.warning().withHistory(3, 3));
+
+    PrintStream err = System.err;
+    ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    System.setErr(new PrintStream(printed, true));
+    try {
+      changed.execute(source(), expected.toUri().toURL());
+    } finally {
+      System.setErr(err);
+    }
+
+    assertTrue(printed.toString().contains("output size"));
+    assertEquals(4, Files.readAllLines(history.getFile()).size());
+  }
+
+  @Test
+  public void testApproveWritesOnlyDifferences() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a", "b", "c");
+    Path processed = createDirectoryWithFiles("processed", "a", "c", "d");
+    Files.write(processed.resolve("c"), Collections.singletonList("changed"));
+
+    ApprovalSummary summary = newIntegrationTest(processed).approve(source(), expected.toUri().toURL());
+
+    assertEquals(Collections.singletonList(expected.resolve("d")), summary.getAdded());
+    assertEquals(Collections.singletonList(expected.resolve("c")), summary.getUpdated());
+    assertEquals(Collections.singletonList(expected.resolve("b")), summary.getRemoved());
+    assertEquals(1, summary.getUnchanged());
+    assertEquals(Collections.singletonList("changed"), Files.readAllLines(expected.resolve("c")));
+    assertTrue(Files.notExists(processed));
+  }
+
+  @Test
+  public void testUpdateModeWritesToTheSourceOfTheExpectedResult() throws Exception {
+    Path golden = createDirectoryWithFiles("resources/expected", "a", "b");
+    Path copy = createDirectoryWithFiles("classes/expected", "a", "b");
+    Path processed = createDirectoryWithFiles("processed", "a", "c");
+
+    newIntegrationTest(processed)
+            .updateExpectedResults(tempDir.resolve("classes"), tempDir.resolve("resources"))
+            .execute(source(), copy.toUri().toURL());
+
+    assertTrue(Files.exists(golden.resolve("c")));
+    assertTrue(Files.notExists(golden.resolve("b")));
+    assertTrue(Files.exists(copy.resolve("b")));
+    assertTrue(Files.notExists(copy.resolve("c")));
+    assertTrue(Files.notExists(processed));
+  }
+
+  @Test
+  public void testUpdateModeCanBeSwitchedOff() throws Exception {
+    Path expected = createDirectoryWithFiles("expected", "a");
+    Path processed = createDirectoryWithFiles("processed", "b");
+
+    IntegrationTest test = newIntegrationTest(processed).updateExpectedResults(false);
+
+    assertThrows(IllegalArgumentException.class, () -> test.execute(source(), expected.toUri().toURL()));
+    assertTrue(Files.exists(expected.resolve("a")));
+  }
+
+  @Test
+  public void testZipArchivesAreComparedAsDirectories() throws Exception {
+    Path expected = Files.createDirectories(tempDir.resolve("expected"));
+    Path processed = Files.createDirectories(tempDir.resolve("processed"));
+    writeZip(expected.resolve("result.zip"), "dir/a", "a", "b", "b");
+    writeZip(processed.resolve("result.zip"), "b", "b", "dir/a", "a");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .compareArchivesAsDirectories()
+            .check(source(), expected.toUri().toURL());
+
+    assertTrue(report.isSuccessful());
+    assertEquals(2, report.getNumberOfComparedFiles());
+  }
+
+  @Test
+  public void testDifferenceInsideZipNamesTheArchive() throws Exception {
+    Path expected = Files.createDirectories(tempDir.resolve("expected"));
+    Path processed = Files.createDirectories(tempDir.resolve("processed"));
+    writeZip(expected.resolve("result.jar"), "a", "a", "b", "b");
+    writeZip(processed.resolve("result.jar"), "a", "a", "b", "changed");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .compareArchivesAsDirectories()
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(1, report.getFailures().size());
+    ComparisonReport.Failure failure = report.getFailures().get(0);
+    assertEquals(Collections.singletonList(expected.resolve("result.jar")), failure.getExpectedArchives());
+    assertEquals(Collections.singletonList(processed.resolve("result.jar")), failure.getProcessedArchives());
+    AssertionError error = assertThrows(AssertionError.class, report::assertSuccessful);
+    assertTrue(error.getMessage().contains(processed.resolve("result.jar").toString()));
+  }
+
+  @Test
+  public void testUnreadableZipIsReportedAsFailure() throws Exception {
+    Path expected = Files.createDirectories(tempDir.resolve("expected"));
+    Path processed = Files.createDirectories(tempDir.resolve("processed"));
+    writeZip(expected.resolve("result.zip"), "a", "a");
+    Files.write(processed.resolve("result.zip"), Collections.singletonList("no zip"));
+    createDirectoryWithFiles("expected", "c");
+    createDirectoryWithFiles("processed", "d");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .compareArchivesAsDirectories()
+            .withFailurePolicy(FailurePolicy.collectAll())
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(3, report.getFailures().size());
+    assertEquals(processed.resolve("result.zip"), report.getFailures().get(2).getProcessedFile());
+  }
+
+  @Test
+  public void testGzipFilesAreDecompressedOnTheFly() throws Exception {
+    Path expected = Files.createDirectories(tempDir.resolve("expected"));
+    Path processed = Files.createDirectories(tempDir.resolve("processed"));
+    writeGzip(expected.resolve("equal.txt.gz"), "line");
+    writeGzip(processed.resolve("equal.txt.gz"), "line");
+    writeGzip(expected.resolve("unequal.txt.gz"), "line");
+    writeGzip(processed.resolve("unequal.txt.gz"), "other line");
+
+    ComparisonReport report = newIntegrationTest(processed)
+            .compareArchivesAsDirectories()
+            .withFailurePolicy(FailurePolicy.collectAll())
+            .check(source(), expected.toUri().toURL());
+
+    assertEquals(2, report.getNumberOfComparedFiles());
+    assertEquals(1, report.getFailures().size());
+    assertEquals(expected.resolve("unequal.txt.gz"), report.getFailures().get(0).getExpectedFile());
+    assertTrue(report.getFailures().get(0).getCause().getMessage().contains("other line"));
+  }
+
+  private void recordRuns(RunHistory history, int count, String... files) throws Exception {
+    Path expected = createDirectoryWithFiles("recorded", files);
+    IntegrationTest test = new IntegrationTest(
+            source -> createDirectoryWithFilesUnchecked("processed", files),
+            new TextFileComparator())
+            .withRunHistory(history);
+    for (int i = 0; i < count; i ++)
+      test.execute(source(), expected.toUri().toURL());
+  }
+
+  private IntegrationTest newIntegrationTest(Path processedResult) {
+    return new IntegrationTest(source -> processedResult, new TextFileComparator());
+  }
+
+  private URL source() throws IOException {
+    return Files.createDirectories(tempDir.resolve("source")).toUri().toURL();
+  }
+
+  private Path createDirectoryWithFilesUnchecked(String directory, String... files) {
+    try {
+      return createDirectoryWithFiles(directory, files);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static void writeZip(Path archive, String... namesAndContents) throws IOException {
+    try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+      for (int i = 0; i < namesAndContents.length; i += 2) {
+        zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+        zip.write((namesAndContents[i + 1] + "\n").getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+      }
+    }
+  }
+
+  private static void writeGzip(Path file, String content) throws IOException {
+    try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(file))) {
+      gzip.write((content + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private Path createDirectoryWithFiles(String directory, String... files) throws IOException {
+    Path dir = Files.createDirectories(tempDir.resolve(directory));
+    for (String file : files)
+      Files.write(dir.resolve(file), Collections.singletonList(file));
+    return dir;
+  }
+
+}
@@ -0,0 +1,82 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.file.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfbox.pdmodel.PDDocument;
+import org.pdfbox.pdmodel.PDPage;
+import org.pdfbox.pdmodel.edit.PDPageContentStream;
+import org.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * created 2026-10-19
+ */
+public class PdfFileComparatorTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final PdfFileComparator comparator = new PdfFileComparator();
+
+  @Test
+  public void testWhitespaceAndCaseAreIgnored() throws Exception {
+    Path expected = writePdf("expected.pdf", "Hello World");
+    Path processed = writePdf("processed.pdf", "hello    WORLD");
+
+    comparator.assertEquals(expected, processed);
+  }
+
+  @Test
+  public void testDifferenceIsReported() throws Exception {
+    Path expected = writePdf("expected.pdf", "Hello World");
+    Path processed = writePdf("processed.pdf", "Hello Word");
+
+    AssertionError error = assertThrows(AssertionError.class, () -> comparator.assertEquals(expected, processed));
+    assertTrue(error.getMessage().startsWith("expected.pdf"), error.getMessage());
+  }
+
+  @Test
+  public void testStreamsAreComparedLikeFiles() throws Exception {
+    Path expected = writePdf("expected.pdf", "Hello World");
+    Path processed = writePdf("processed.pdf", "HELLO WORLD");
+
+    try (
+            InputStream expectedContent = Files.newInputStream(expected);
+            InputStream processedContent = Files.newInputStream(processed);
+            ) {
+      comparator.assertEquals(expected, expectedContent, processed, processedContent);
+    }
+  }
+
+  @Test
+  public void testMissingFileIsRejected() throws Exception {
+    Path expected = writePdf("expected.pdf", "Hello World");
+
+    assertThrows(IllegalArgumentException.class, () -> comparator.assertEquals(expected, tempDir.resolve("missing.pdf")));
+  }
+
+  private Path writePdf(String fileName, String text) throws Exception {
+    Path file = tempDir.resolve(fileName);
+    PDDocument document = new PDDocument();
+    try {
+      PDPage page = new PDPage();
+      document.addPage(page);
+      PDPageContentStream content = new PDPageContentStream(document, page);
+      content.beginText();
+      content.setFont(PDType1Font.HELVETICA, 12);
+      content.moveTextPositionByAmount(100, 700);
+      content.drawString(text);
+      content.endText();
+      content.close();
+      try (OutputStream out = Files.newOutputStream(file)) {
+        document.save(out);
+      }
+    } finally {
+      document.close();
+    }
+    return file;
+  }
+
+}
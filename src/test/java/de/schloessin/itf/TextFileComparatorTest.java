@@ -0,0 +1,62 @@
+package de.schloessin.itf;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * created 2026-10-19
+ */
+public class TextFileComparatorTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final TextFileComparator comparator = new TextFileComparator(StandardCharsets.UTF_8)
+          .trimEachLinieBeforeCompare()
+          .collapseWhitespaceBeforeCompare()
+          .ignoreCaseBeforeCompare();
+
+  @Test
+  public void testWhitespaceAndCaseAreIgnored() throws IOException {
+    Path expected = write("expected", "Hello World", "  second\tline  ");
+    Path actual = write("actual", "  hello   WORLD  ", "SECOND LINE");
+
+    comparator.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testDifferenceIsReportedWithLineNumbers() throws IOException {
+    Path expected = write("expected", "Hello World", "second line");
+    Path actual = write("actual", "hello  world", "second  lime");
+
+    AssertionError error = assertThrows(AssertionError.class, () -> comparator.assertEquals(expected, actual));
+    assertTrue(error.getMessage().contains(expected + ":2 differs from " + actual + ":2"), error.getMessage());
+  }
+
+  @Test
+  public void testMissingLineIsReported() throws IOException {
+    Path expected = write("expected", "Hello World", "second line");
+    Path actual = write("actual", "hello world");
+
+    assertThrows(AssertionError.class, () -> comparator.assertEquals(expected, actual));
+  }
+
+  @Test
+  public void testStreamsAreComparedLikeFiles() throws IOException {
+    Path expected = write("expected", "Hello World");
+
+    comparator.assertEquals(
+            expected, new ByteArrayInputStream("Hello World\n".getBytes(StandardCharsets.UTF_8)),
+            expected, new ByteArrayInputStream(" HELLO\tWORLD \n".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private Path write(String fileName, String... lines) throws IOException {
+    return Files.write(tempDir.resolve(fileName), Arrays.asList(lines), StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,65 @@
+package de.schloessin.itf;
+
+import java.util.Locale;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * created 2026-10-19
+ */
+public class TextNormalizerTest {
+
+  private final TextNormalizer normalizer = new TextNormalizer(true, true);
+
+  @Test
+  public void testWhitespaceAndCaseAreIgnored() {
+    assertTrue(normalizer.areEqual("Hello  \t World\r\n", "hello world "));
+    assertEquals(-1, normalizer.mismatch("", ""));
+  }
+
+  @Test
+  public void testMismatchIsTheNormalizedPosition() {
+    assertEquals(11, normalizer.mismatch("hello   world", "HELLO WORLD!"));
+    assertEquals(0, normalizer.mismatch(" a", "a"));
+  }
+
+  @Test
+  public void testSameResultAsRegexNormalization() {
+    String text = "  Some\ttext \n\n with\u000B mixed  Case ";
+    String normalized = text.replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    assertEquals(normalized, normalizer.normalize(text, 0, Integer.MAX_VALUE));
+    assertTrue(normalizer.areEqual(text, normalized));
+  }
+
+  @Test
+  public void testNormalizeSaturatesTheEnd() {
+    assertEquals("BC", normalizer.normalize("abc", 1, Integer.MAX_VALUE));
+    assertEquals("", normalizer.normalize("abc", Integer.MAX_VALUE, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testCaseIsFoldedPerCodePoint() {
+    // DESERET SMALL LETTER LONG I and its capital letter, both outside the BMP
+    String small = "x\uD801\uDC28y";
+    String capital = "X\uD801\uDC00Y";
+    assertTrue(normalizer.areEqual(small, capital));
+    assertEquals(capital, normalizer.normalize(small, 0, 3));
+    assertEquals(3, normalizer.mismatch(small + "a", capital + "b"));
+    assertTrue(normalizer.areEqual("title", "TITLE"));
+  }
+
+  @Test
+  public void testAssertEqualsShowsContextOfDifference() {
+    AssertionError error = assertThrows(AssertionError.class,
+            () -> normalizer.assertEquals("a b c", "a  b d", "text"));
+    assertTrue(error.getMessage().contains("position 4"));
+  }
+
+  @Test
+  public void testNormalizationCanBeSwitchedOff() {
+    TextNormalizer caseSensitive = new TextNormalizer(true, false);
+    assertFalse(caseSensitive.areEqual("a  B", "a b"));
+    assertTrue(caseSensitive.areEqual("a  B", "a B"));
+  }
+
+}